@@ -63,6 +63,7 @@ public class ConfigManager {
                 urlField.setAccessible(true);
                 contentField.setAccessible(true);
 
+                configInstance.stopPolling();
                 fileField.set(configInstance, null);
                 urlField.set(configInstance, null);
                 contentField.set(configInstance, null);
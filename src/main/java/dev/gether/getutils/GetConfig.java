@@ -2,7 +2,12 @@ package dev.gether.getutils;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import dev.gether.getutils.annotation.Comment;
+import dev.gether.getutils.validation.ConfigValidationException;
+import dev.gether.getutils.validation.ConfigValidator;
+import dev.gether.getutils.validation.UnknownPropertyCollector;
+import dev.gether.getutils.validation.ValidationReport;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 import org.slf4j.Logger;
@@ -10,15 +15,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.reflect.Field;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * The GetConfig class provides functionality for loading, saving, and managing configuration data.
@@ -32,6 +38,8 @@ public class GetConfig {
     private final ObjectMapper mapper;
     private File file;
     private URL url;
+    @JsonIgnore
+    private RemoteConfigSource remoteSource;
     private String content;
 
     private boolean isLoading = false;
@@ -54,6 +62,7 @@ public class GetConfig {
     public void setFile(File file) {
         this.file = file;
         this.url = null;
+        this.remoteSource = null;
         if (!file.exists()) {
             try {
                 Files.createDirectories(file.getParentFile().toPath());
@@ -72,15 +81,46 @@ public class GetConfig {
      * @throws RuntimeException if the URL is invalid.
      */
     public void setUrl(String urlString) {
+        setUrl(urlString, null);
+    }
+
+    /**
+     * Sets the URL to be used for loading and saving the configuration, keeping a local copy
+     * of the last downloaded document which is used when the endpoint is slow or down.
+     *
+     * @param urlString The URL string representing the configuration source.
+     * @param fallbackFile The local copy of the remote document, may be null.
+     * @throws RuntimeException if the URL is invalid.
+     */
+    public void setUrl(String urlString, File fallbackFile) {
         try {
-            this.url = new URL(urlString);
-            this.file = null;
-        } catch (IOException e) {
+            setRemoteSource(RemoteConfigSource.of(urlString, fallbackFile));
+        } catch (IllegalArgumentException e) {
             logger.error("Invalid URL: {}", urlString, e);
             throw new RuntimeException("Invalid URL: " + urlString, e);
         }
     }
 
+    /**
+     * Sets the remote source to be used for loading and saving the configuration.
+     *
+     * @param remoteSource The remote source with its timeouts and local fallback copy.
+     * @throws RuntimeException if the source address is not a valid URL.
+     */
+    public void setRemoteSource(RemoteConfigSource remoteSource) {
+        try {
+            this.url = remoteSource.getUri().toURL();
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Invalid URL: {}", remoteSource.getUri(), e);
+            throw new RuntimeException("Invalid URL: " + remoteSource.getUri(), e);
+        }
+        if (this.remoteSource != null) {
+            this.remoteSource.stopPolling();
+        }
+        this.remoteSource = remoteSource;
+        this.file = null;
+    }
+
     /**
      * Saves the current configuration to the specified file, URL, or in-memory content.
      *
@@ -112,6 +152,42 @@ public class GetConfig {
         }
     }
 
+    /**
+     * Saves the configuration without blocking the calling thread on IO.
+     * The configuration is serialized on the calling thread, only the file write or the
+     * HTTP request is done in the background.
+     *
+     * @return A future completed once the configuration was written.
+     */
+    public CompletableFuture<Void> saveAsync() {
+        if (file == null && url == null) {
+            save();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String processedYaml;
+        try {
+            processedYaml = insertComments(mapper.writeValueAsString(this));
+        } catch (IOException e) {
+            logger.error("Failed to save configuration", e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        byte[] bytes = processedYaml.getBytes(StandardCharsets.UTF_8);
+        if (url != null) {
+            return remote().push(bytes);
+        }
+
+        File target = file;
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.write(target.toPath(), bytes);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
     /**
      * Inserts comments into the YAML string based on @Comment annotations.
      *
@@ -144,13 +220,12 @@ public class GetConfig {
 
     /**
      * Loads the configuration from the specified file, URL, or in-memory content.
+     * Right after loading, the configuration is validated against its validation annotations
+     * and unknown properties are reported. Missing values of {@code @NotNull} fields keep the value
+     * they had before loading.
      *
      * @throws RuntimeException if there's an error loading the configuration or if no source is set.
-     */
-    /**
-     * Loads the configuration from the specified file, URL, or in-memory content.
-     *
-     * @throws RuntimeException if there's an error loading the configuration or if no source is set.
+     * @throws ConfigValidationException if the loaded configuration violates its validation annotations.
      */
     public void load() {
         if (isLoading) {
@@ -159,16 +234,18 @@ public class GetConfig {
         }
 
         boolean wasEmpty = false;
+        ValidationReport report = new ValidationReport();
+        Map<String, Object> defaults = ConfigValidator.captureDefaults(this);
 
         try {
             isLoading = true;
             if (file != null) {
                 wasEmpty = !file.exists() || Files.size(file.toPath()) == 0;
-                loadFromFile();
+                loadFromFile(report);
             } else if (url != null) {
-                wasEmpty = loadFromUrl(); // Zwraca true jeśli było puste
+                wasEmpty = loadFromUrl(report); // Zwraca true jeśli było puste
             } else if (content != null) {
-                mapper.readerForUpdating(this).readValue(content);
+                reader(report).readValue(content);
             } else {
                 throw new IllegalStateException("Neither file, URL, nor content is set");
             }
@@ -184,41 +261,148 @@ public class GetConfig {
             logger.info("Configuration was empty, saving default values to: {}", url != null ? url : file);
             save();
         }
+
+        checkReport(report, defaults);
+    }
+
+    /**
+     * Validates the current values against the validation annotations without throwing.
+     *
+     * @return The report with every violation found.
+     */
+    public ValidationReport validate() {
+        return ConfigValidator.validate(this);
+    }
+
+    /**
+     * Runs the validation pass, logs every violation and fails if any of them is an error.
+     *
+     * @param report The report holding the problems found while reading the document.
+     * @param defaults The values captured before reading, restored into missing {@code @NotNull} fields.
+     * @throws ConfigValidationException if the configuration has errors.
+     */
+    private void checkReport(ValidationReport report, Map<String, Object> defaults) {
+        ConfigValidator.validate(this, report, defaults);
+
+        Object source = url != null ? url : file != null ? file : getClass().getSimpleName();
+        report.getWarnings().forEach(violation -> logger.warn("{}: {}", source, violation));
+        if (report.hasErrors()) {
+            report.getErrors().forEach(violation -> logger.error("{}: {}", source, violation));
+            throw new ConfigValidationException(String.valueOf(source), report);
+        }
+    }
+
+    /**
+     * Creates a reader updating this instance which reports unknown properties instead of dropping them.
+     */
+    private ObjectReader reader(ValidationReport report) {
+        return mapper.readerForUpdating(this).withHandler(new UnknownPropertyCollector(report));
+    }
+
+    /**
+     * Loads the configuration from the remote source without blocking the calling thread.
+     * The document is downloaded in the background and applied on the given executor,
+     * e.g. {@code task -> Bukkit.getScheduler().runTask(plugin, task)}.
+     *
+     * @param applyExecutor The executor that applies the downloaded document to this instance.
+     * @return A future completed once the configuration was applied.
+     */
+    public CompletableFuture<Void> loadAsync(Executor applyExecutor) {
+        if (url == null) {
+            return CompletableFuture.runAsync(this::load, applyExecutor);
+        }
+
+        return remote().fetch().thenAcceptAsync(result -> {
+            ValidationReport report = new ValidationReport();
+            Map<String, Object> defaults = ConfigValidator.captureDefaults(this);
+            if (applyRemote(result, report)) {
+                logger.info("Configuration was empty, saving default values to: {}", url);
+                saveAsync();
+            }
+            checkReport(report, defaults);
+        }, applyExecutor);
+    }
+
+    /**
+     * Starts polling the remote source. Every changed document is applied on the given executor.
+     *
+     * @param period Time between two requests.
+     * @param applyExecutor The executor that applies a changed document to this instance.
+     * @throws IllegalStateException if no URL is set.
+     */
+    public void startPolling(Duration period, Executor applyExecutor) {
+        if (url == null) {
+            throw new IllegalStateException("Polling requires a URL source");
+        }
+        remote().startPolling(period, result -> applyExecutor.execute(() -> {
+            try {
+                ValidationReport report = new ValidationReport();
+                Map<String, Object> defaults = ConfigValidator.captureDefaults(this);
+                applyRemote(result, report);
+                checkReport(report, defaults);
+            } catch (RuntimeException e) {
+                logger.error("Failed to apply polled configuration from: {}", url, e);
+            }
+        }));
+    }
+
+    /**
+     * Stops polling the remote source.
+     */
+    public void stopPolling() {
+        if (remoteSource != null) {
+            remoteSource.stopPolling();
+        }
     }
 
     /**
      * Loads the configuration from the specified URL.
+     * The request is bounded by the timeouts of the remote source and falls back to its local copy.
      *
+     * @param report Collects the unknown properties of the document.
      * @return true if the content was empty, false otherwise
      * @throws IOException if there's an error reading from the URL.
      */
-    private boolean loadFromUrl() throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-
-        try (InputStream is = connection.getInputStream()) {
-            byte[] content = is.readAllBytes();
-            if (content.length == 0) {
-                logger.info("URL returned empty content: {}", url);
-                return true; // Oznacza, że treść była pusta
-            }
-            mapper.readerForUpdating(this).readValue(content);
-            logger.info("Successfully loaded configuration from URL: {}", url);
-            return false; // Treść nie była pusta
+    private boolean loadFromUrl(ValidationReport report) throws IOException {
+        try {
+            return applyRemote(remote().fetch().join(), report);
+        } catch (CompletionException e) {
+            throw unwrapIOException(e);
+        }
+    }
+
+    /**
+     * Applies a document fetched from the remote source to this instance.
+     *
+     * @return true if the content was empty, false otherwise
+     */
+    private boolean applyRemote(RemoteConfigSource.FetchResult result, ValidationReport report) {
+        if (result.isEmpty()) {
+            logger.info("URL returned empty content: {}", url);
+            return true; // Oznacza, że treść była pusta
         }
+        try {
+            reader(report).readValue(result.getContent());
+        } catch (IOException e) {
+            logger.error("Failed to load configuration", e);
+            throw new RuntimeException("Failed to load configuration", e);
+        }
+        logger.info("Successfully loaded configuration from URL: {} ({})", url, result.getStatus());
+        return false; // Treść nie była pusta
     }
 
 
     /**
      * Loads the configuration from the specified file.
      *
+     * @param report Collects the unknown properties of the document.
      * @throws IOException if there's an error reading from the file.
      */
-    private void loadFromFile() throws IOException {
+    private void loadFromFile(ValidationReport report) throws IOException {
         if (!file.exists() || Files.size(file.toPath()) == 0) {
             return;
         }
-        mapper.readerForUpdating(this).readValue(file);
+        reader(report).readValue(file);
     }
 
     /**
@@ -228,19 +412,26 @@ public class GetConfig {
      * @throws IOException if there's an error writing to the URL.
      */
     private void saveToUrl(String content) throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setDoOutput(true);
-        connection.setRequestProperty("Content-Type", "application/yaml");
-
-        try (OutputStream os = connection.getOutputStream()) {
-            os.write(content.getBytes(StandardCharsets.UTF_8));
+        try {
+            remote().push(content.getBytes(StandardCharsets.UTF_8)).join();
+        } catch (CompletionException e) {
+            throw unwrapIOException(e);
         }
+    }
 
-        int responseCode = connection.getResponseCode();
-        if (responseCode != HttpURLConnection.HTTP_OK) {
-            throw new IOException("HTTP error code: " + responseCode);
+    /**
+     * Gets the remote source, creating one with default settings when only the URL was set.
+     */
+    private RemoteConfigSource remote() {
+        if (remoteSource == null) {
+            remoteSource = RemoteConfigSource.of(url.toString());
         }
+        return remoteSource;
+    }
+
+    private static IOException unwrapIOException(CompletionException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof IOException ioException ? ioException : new IOException(cause);
     }
 
     /**
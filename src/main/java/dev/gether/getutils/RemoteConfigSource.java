@@ -0,0 +1,320 @@
+package dev.gether.getutils;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous HTTP source for a {@link GetConfig}.
+ * Every request is bounded by a connect and a read timeout, sends {@code If-None-Match} /
+ * {@code If-Modified-Since} so an unchanged document is not downloaded again, and keeps a local
+ * copy of the last good document which is used whenever the endpoint is slow or unreachable.
+ */
+public class RemoteConfigSource {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteConfigSource.class);
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final ScheduledExecutorService POLLER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "getutils-config-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Getter private final URI uri;
+    @Getter private final Duration connectTimeout;
+    @Getter private final Duration readTimeout;
+    @Getter private final File fallbackFile;
+    private final HttpClient client;
+
+    private volatile String etag;
+    private volatile String lastModified;
+    private volatile byte[] lastContent;
+
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+    private ScheduledFuture<?> pollTask;
+
+    /**
+     * Creates a new remote source.
+     *
+     * @param uri The address of the configuration document.
+     * @param connectTimeout Maximum time to establish the connection, 5 seconds when null.
+     * @param readTimeout Maximum time to wait for the response, 10 seconds when null.
+     * @param fallbackFile Local copy used when the endpoint is down, may be null.
+     */
+    @Builder
+    private RemoteConfigSource(URI uri, Duration connectTimeout, Duration readTimeout, File fallbackFile) {
+        Valid.checkNotNull(uri, "URI cannot be null");
+        this.uri = uri;
+        this.connectTimeout = connectTimeout != null ? connectTimeout : DEFAULT_CONNECT_TIMEOUT;
+        this.readTimeout = readTimeout != null ? readTimeout : DEFAULT_READ_TIMEOUT;
+        this.fallbackFile = fallbackFile;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(this.connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        restoreFallback();
+    }
+
+    /**
+     * Creates a remote source with default timeouts and no local fallback copy.
+     *
+     * @param url The URL string representing the configuration source.
+     * @return A new RemoteConfigSource.
+     * @throws IllegalArgumentException if the URL is invalid.
+     */
+    public static RemoteConfigSource of(String url) {
+        return of(url, null);
+    }
+
+    /**
+     * Creates a remote source with default timeouts and the given local fallback copy.
+     *
+     * @param url The URL string representing the configuration source.
+     * @param fallbackFile Local copy used when the endpoint is down, may be null.
+     * @return A new RemoteConfigSource.
+     * @throws IllegalArgumentException if the URL is invalid.
+     */
+    public static RemoteConfigSource of(String url, File fallbackFile) {
+        return RemoteConfigSource.builder()
+                .uri(URI.create(url))
+                .fallbackFile(fallbackFile)
+                .build();
+    }
+
+    /**
+     * Fetches the document without blocking the calling thread.
+     * Completes with the local copy when the server answers 304 or cannot be reached in time.
+     *
+     * @return A future completed with the fetched document.
+     */
+    public CompletableFuture<FetchResult> fetch() {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .GET();
+
+        if (lastContent != null) {
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                request.header("If-Modified-Since", lastModified);
+            }
+        }
+
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::handleResponse)
+                .exceptionally(this::useFallback);
+    }
+
+    /**
+     * Sends the document to the endpoint without blocking the calling thread.
+     * On success the local copy is replaced with the pushed content.
+     *
+     * @param content The configuration content to save.
+     * @return A future completed once the server accepted the document.
+     */
+    public CompletableFuture<Void> push(byte[] content) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Content-Type", "application/yaml")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(content))
+                .build();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new CompletionException(new IOException("HTTP error code: " + response.statusCode()));
+                    }
+                    // the server representation changed, the next fetch has to download it again
+                    storeDocument(content, null, null);
+                });
+    }
+
+    /**
+     * Starts fetching the document periodically. The listener is only called when
+     * the server returned a new version of the document.
+     *
+     * @param period Time between two fetches.
+     * @param listener Receives every changed document, called off the main thread.
+     */
+    public synchronized void startPolling(Duration period, Consumer<FetchResult> listener) {
+        stopPolling();
+        AtomicBoolean inFlight = new AtomicBoolean(false);
+        polling.set(true);
+        pollTask = POLLER.scheduleWithFixedDelay(() -> {
+            if (!polling.get() || !inFlight.compareAndSet(false, true)) {
+                return;
+            }
+            fetch().whenComplete((result, throwable) -> {
+                inFlight.set(false);
+                if (throwable != null) {
+                    logger.warn("Failed to poll configuration from: {}", uri, throwable);
+                } else if (polling.get() && result.getStatus() == FetchStatus.UPDATED) {
+                    listener.accept(result);
+                }
+            });
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic fetching started with {@link #startPolling(Duration, Consumer)}.
+     */
+    public synchronized void stopPolling() {
+        polling.set(false);
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+    }
+
+    public boolean isPolling() {
+        return polling.get();
+    }
+
+    private FetchResult handleResponse(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status == 304 && lastContent != null) {
+            return new FetchResult(lastContent, FetchStatus.NOT_MODIFIED);
+        }
+        if (status / 100 != 2) {
+            throw new CompletionException(new IOException("HTTP error code: " + status));
+        }
+
+        byte[] body = response.body();
+        storeDocument(body,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+        return new FetchResult(body, FetchStatus.UPDATED);
+    }
+
+    private FetchResult useFallback(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        byte[] content = lastContent;
+        if (content == null) {
+            throw new CompletionException(cause);
+        }
+        logger.warn("Configuration endpoint {} unavailable ({}), using local copy", uri, cause.toString());
+        return new FetchResult(content, FetchStatus.FALLBACK);
+    }
+
+    private void storeDocument(byte[] content, String etag, String lastModified) {
+        this.lastContent = content;
+        this.etag = etag;
+        this.lastModified = lastModified;
+
+        if (fallbackFile == null) {
+            return;
+        }
+        try {
+            writeAtomically(fallbackFile.toPath(), content);
+
+            Properties properties = new Properties();
+            Optional.ofNullable(etag).ifPresent(value -> properties.setProperty("etag", value));
+            Optional.ofNullable(lastModified).ifPresent(value -> properties.setProperty("last-modified", value));
+            try (OutputStream os = Files.newOutputStream(metadataPath())) {
+                properties.store(os, null);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write local configuration copy: {}", fallbackFile.getAbsolutePath(), e);
+        }
+    }
+
+    private void restoreFallback() {
+        if (fallbackFile == null || !fallbackFile.isFile()) {
+            return;
+        }
+        try {
+            this.lastContent = Files.readAllBytes(fallbackFile.toPath());
+
+            Path metadata = metadataPath();
+            if (Files.isRegularFile(metadata)) {
+                Properties properties = new Properties();
+                try (InputStream is = Files.newInputStream(metadata)) {
+                    properties.load(is);
+                }
+                this.etag = properties.getProperty("etag");
+                this.lastModified = properties.getProperty("last-modified");
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read local configuration copy: {}", fallbackFile.getAbsolutePath(), e);
+        }
+    }
+
+    private Path metadataPath() {
+        return fallbackFile.toPath().resolveSibling(fallbackFile.getName() + ".meta");
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Where the content of a {@link FetchResult} came from.
+     */
+    public enum FetchStatus {
+        /** The server returned a new version of the document. */
+        UPDATED,
+        /** The server confirmed the local copy is still current. */
+        NOT_MODIFIED,
+        /** The server could not be reached, the local copy was used. */
+        FALLBACK
+    }
+
+    /**
+     * Result of {@link #fetch()}.
+     */
+    @Getter
+    public static class FetchResult {
+        private final byte[] content;
+        private final FetchStatus status;
+
+        FetchResult(byte[] content, FetchStatus status) {
+            this.content = content;
+            this.status = status;
+        }
+
+        public boolean isEmpty() {
+            return content == null || content.length == 0;
+        }
+    }
+}
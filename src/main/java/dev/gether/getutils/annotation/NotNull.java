@@ -0,0 +1,16 @@
+package dev.gether.getutils.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The configuration value must be present. When the field held an immutable value (string, number,
+ * boolean or enum) before the configuration was loaded, a missing value is replaced with that value instead.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface NotNull {
+
+}
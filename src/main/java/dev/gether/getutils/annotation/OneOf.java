@@ -0,0 +1,17 @@
+package dev.gether.getutils.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The configuration value must be one of the listed values.
+ * For enum fields the names are checked against the enum constants when the plan is built.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface OneOf {
+    String[] value();
+
+}
@@ -0,0 +1,18 @@
+package dev.gether.getutils.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The numeric configuration value must be between min and max (inclusive).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Range {
+    double min() default -Double.MAX_VALUE;
+
+    double max() default Double.MAX_VALUE;
+
+}
@@ -1,12 +1,9 @@
 package dev.gether.getutils.builder;
 
-import com.mojang.authlib.GameProfile;
-import com.mojang.authlib.properties.Property;
 import dev.gether.getutils.Valid;
 import dev.gether.getutils.utils.ColorFixer;
 import dev.gether.getutils.utils.ConsoleColor;
 import dev.gether.getutils.utils.MessageUtil;
-import dev.gether.getutils.utils.ServerVersionUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Color;
 import org.bukkit.Material;
@@ -23,10 +20,10 @@ import org.bukkit.inventory.meta.FireworkMeta;
 import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
 
-import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.function.ObjIntConsumer;
 
 public class ItemStackBuilder {
 
@@ -34,6 +31,9 @@ public class ItemStackBuilder {
     private ItemMeta itemMeta;
     private Map<Attribute, List<AttributeModifier>> attributeModifiers = new HashMap<>();
     private List<ItemFlag> itemFlags = new ArrayList<>();
+    // applied to the meta in build(), so the meta is not copied back and forth for every enchantment
+    private Map<Enchantment, Integer> enchantments = new LinkedHashMap<>();
+    private boolean glow;
 
     private PotionType potionType;
     private boolean extended;
@@ -142,18 +142,7 @@ public class ItemStackBuilder {
      */
     public ItemStackBuilder glow(boolean glow) {
         if (glow) {
-            Enchantment enchantment;
-            try {
-                enchantment = Enchantment.DURABILITY;
-            } catch (NoSuchFieldError e) {
-                enchantment = Enchantment.getByName("UNBREAKING");
-                if (enchantment == null) {
-                    throw new IllegalStateException("Could not find appropriate enchantment for glow effect");
-                }
-            }
-            itemStack.setItemMeta(itemMeta);
-            itemStack.addUnsafeEnchantment(enchantment, 1);
-            itemMeta = itemStack.getItemMeta();
+            this.glow = true;
             addItemFlags(ItemFlag.HIDE_ENCHANTS);
         }
         return this;
@@ -191,10 +180,8 @@ public class ItemStackBuilder {
      * @return This ItemBuilder instance
      */
     public ItemStackBuilder enchantments(Map<Enchantment, Integer> enchantments) {
-        if (enchantments != null && !enchantments.isEmpty()) {
-            itemStack.setItemMeta(itemMeta);
-            enchantments.forEach((enchantment, level) -> itemStack.addUnsafeEnchantment(enchantment, level));
-            itemMeta = itemStack.getItemMeta();
+        if (enchantments != null) {
+            this.enchantments.putAll(enchantments);
         }
         return this;
     }
@@ -207,11 +194,14 @@ public class ItemStackBuilder {
      */
     public ItemStackBuilder skullTexture(String base64) {
         if (itemMeta instanceof SkullMeta skullMeta && base64 != null && !base64.isEmpty()) {
-            UUID hashAsId = new UUID(base64.hashCode(), base64.hashCode());
-            if (ServerVersionUtil.isNewHeadApiSupported()) {
-                applyNewSkullTexture(skullMeta, base64, hashAsId);
+            if (SkullTextures.useProfileApi()) {
+                try {
+                    SkullTextures.applyProfile(skullMeta, base64);
+                } catch (Exception e) {
+                    MessageUtil.logMessage(ConsoleColor.RED, "[getUtils] Failed to set new skull texture: " + e.getMessage());
+                }
             } else {
-                applyLegacySkullTexture(base64, hashAsId);
+                applyLegacySkullTexture(skullMeta, base64);
             }
         }
         return this;
@@ -305,47 +295,24 @@ public class ItemStackBuilder {
         }
     }
 
-    private void applyNewSkullTexture(SkullMeta skullMeta, String base64, UUID hashAsId) {
-        try {
-            // Use reflection to access new API methods
-            Class<?> bukkitClass = Class.forName("org.bukkit.Bukkit");
-            Method createProfileMethod = bukkitClass.getMethod("createPlayerProfile", UUID.class);
-            Object playerProfile = createProfileMethod.invoke(null, hashAsId);
-
-            Class<?> playerProfileClass = Class.forName("org.bukkit.profile.PlayerProfile");
-            Method getTexturesMethod = playerProfileClass.getMethod("getTextures");
-            Object playerTextures = getTexturesMethod.invoke(playerProfile);
-
-            Class<?> playerTexturesClass = Class.forName("org.bukkit.profile.PlayerTextures");
-            Method setSkinMethod = playerTexturesClass.getMethod("setSkin", URL.class);
-
-            URL skinUrl = getUrlFromBase64(base64);
-            setSkinMethod.invoke(playerTextures, skinUrl);
-
-            Class<?> skullMetaClass = Class.forName("org.bukkit.inventory.meta.SkullMeta");
-            Method setOwnerProfileMethod = skullMetaClass.getMethod("setOwnerProfile", playerProfileClass);
-            setOwnerProfileMethod.invoke(skullMeta, playerProfile);
-
-        } catch (Exception e) {
-            MessageUtil.logMessage(ConsoleColor.RED, "[getUtils] Failed to set new skull texture: " + e.getMessage());
-        }
-    }
-
+    /**
+     * Decodes the skin URL from a Base64 texture string.
+     *
+     * @param base64 The Base64 encoded texture string
+     * @return The skin URL
+     * @throws MalformedURLException if the texture does not contain a valid URL
+     */
     public URL getUrlFromBase64(String base64) throws MalformedURLException {
-        String decoded = new String(Base64.getDecoder().decode(base64));
-        return new URL(decoded.substring("{\"textures\":{\"SKIN\":{\"url\":\"".length(), decoded.length() - "\"}}}".length()));
+        return SkullTextures.urlFromBase64(base64);
     }
 
-    private void applyLegacySkullTexture(String base64, UUID hashAsId) {
+    private void applyLegacySkullTexture(SkullMeta skullMeta, String base64) {
         try {
-            GameProfile profile = new GameProfile(hashAsId, "gether.dev");
-            profile.getProperties().put("textures", new Property("textures", base64));
-            Method method = itemMeta.getClass().getDeclaredMethod("setProfile", GameProfile.class);
-            method.setAccessible(true);
-            method.invoke(itemMeta, profile);
+            SkullTextures.applyLegacyProfile(skullMeta, base64);
         } catch (Exception e) {
             MessageUtil.logMessage(ConsoleColor.RED, "[getUtils] Failed to set legacy skull texture: " + e.getMessage());
-            String nbt = "{SkullOwner:{Id:\"" + hashAsId + "\",Properties:{textures:[{Value:\"" + base64 + "\"}]}}}";
+            itemStack.setItemMeta(itemMeta);
+            String nbt = "{SkullOwner:{Id:\"" + SkullTextures.textureId(base64) + "\",Properties:{textures:[{Value:\"" + base64 + "\"}]}}}";
             itemStack = Bukkit.getUnsafe().modifyItemStack(itemStack, nbt);
             itemMeta = itemStack.getItemMeta();
         }
@@ -376,9 +343,13 @@ public class ItemStackBuilder {
             }
 
             potionMeta.setBasePotionData(new PotionData(potionType, extended, upgraded));
-            itemStack.setItemMeta(potionMeta);
         }
 
+        if (glow) {
+            itemMeta.addEnchant(glowEnchantment(), 1, true);
+        }
+        enchantments.forEach((enchantment, level) -> itemMeta.addEnchant(enchantment, level, true));
+
         if (attributeModifiers != null) {
             attributeModifiers.forEach((attribute, modifiers) -> {
                 if (modifiers != null) {
@@ -395,4 +366,58 @@ public class ItemStackBuilder {
 
         return itemStack;
     }
+
+    /**
+     * Builds the item once and returns a copy of it for every amount.
+     * The meta is applied a single time and shared by all copies.
+     *
+     * @param amounts The amounts of the copies
+     * @return The constructed ItemStacks, in the order of the amounts
+     */
+    public List<ItemStack> buildAmounts(int... amounts) {
+        ItemStack base = build();
+        List<ItemStack> items = new ArrayList<>(amounts.length);
+        for (int amount : amounts) {
+            ItemStack item = base.clone();
+            item.setAmount(Math.max(1, amount));
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Builds the item once and creates variants of it, e.g. with a different lore line per variant.
+     * Every variant starts from a copy of the built meta, so the shared properties are not applied again.
+     *
+     * @param count The number of variants
+     * @param customizer Changes the meta of a variant, receives the meta and the variant index
+     * @return The constructed ItemStacks
+     */
+    public List<ItemStack> buildVariants(int count, ObjIntConsumer<ItemMeta> customizer) {
+        ItemStack base = build();
+        ItemMeta baseMeta = base.getItemMeta();
+        List<ItemStack> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ItemStack item = base.clone();
+            if (baseMeta != null) {
+                ItemMeta meta = baseMeta.clone();
+                customizer.accept(meta, i);
+                item.setItemMeta(meta);
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static Enchantment glowEnchantment() {
+        try {
+            return Enchantment.DURABILITY;
+        } catch (NoSuchFieldError e) {
+            Enchantment enchantment = Enchantment.getByName("UNBREAKING");
+            if (enchantment == null) {
+                throw new IllegalStateException("Could not find appropriate enchantment for glow effect");
+            }
+            return enchantment;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package dev.gether.getutils.builder;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import dev.gether.getutils.utils.ConsoleColor;
+import dev.gether.getutils.utils.MessageUtil;
+import dev.gether.getutils.utils.ServerVersionUtil;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies Base64 skull textures to {@link SkullMeta}.
+ *
+ * <p>The player profile API (1.20+) is reached through method handles that are resolved once,
+ * and prepared profiles are cached per texture, so building a head does not repeat any
+ * reflection, Base64 decoding or URL parsing. On the legacy path only the immutable texture
+ * property is cached, every meta receives its own {@link GameProfile}.</p>
+ */
+final class SkullTextures {
+
+    private static final int MAX_CACHED_PROFILES = 512;
+
+    private static final String URL_PREFIX = "{\"textures\":{\"SKIN\":{\"url\":\"";
+    private static final String URL_SUFFIX = "\"}}}";
+
+    private static final boolean NEW_API = ServerVersionUtil.isNewHeadApiSupported();
+
+    private static final MethodHandle CREATE_PROFILE;
+    private static final MethodHandle GET_TEXTURES;
+    private static final MethodHandle SET_SKIN;
+    private static final MethodHandle SET_OWNER_PROFILE;
+
+    static {
+        MethodHandle createProfile = null;
+        MethodHandle getTextures = null;
+        MethodHandle setSkin = null;
+        MethodHandle setOwnerProfile = null;
+        if (NEW_API) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> bukkitClass = Class.forName("org.bukkit.Bukkit");
+                Class<?> playerProfileClass = Class.forName("org.bukkit.profile.PlayerProfile");
+                Class<?> playerTexturesClass = Class.forName("org.bukkit.profile.PlayerTextures");
+
+                createProfile = lookup.findStatic(bukkitClass, "createPlayerProfile", MethodType.methodType(playerProfileClass, UUID.class));
+                getTextures = lookup.findVirtual(playerProfileClass, "getTextures", MethodType.methodType(playerTexturesClass));
+                setSkin = lookup.findVirtual(playerTexturesClass, "setSkin", MethodType.methodType(void.class, URL.class));
+                setOwnerProfile = lookup.findVirtual(SkullMeta.class, "setOwnerProfile", MethodType.methodType(void.class, playerProfileClass));
+            } catch (ReflectiveOperationException e) {
+                MessageUtil.logMessage(ConsoleColor.RED, "[getUtils] Failed to resolve the player profile API: " + e.getMessage());
+                createProfile = null;
+            }
+        }
+        CREATE_PROFILE = createProfile;
+        GET_TEXTURES = getTextures;
+        SET_SKIN = setSkin;
+        SET_OWNER_PROFILE = setOwnerProfile;
+    }
+
+    /**
+     * Prepared values by Base64 texture, a PlayerProfile on the new API and a {@link LegacyTexture} on the
+     * legacy one. PlayerProfiles are never modified after they are cached, the meta copies them when they are
+     * applied. The legacy meta keeps the GameProfile it receives, so it is created per meta.
+     */
+    private static final Map<String, Object> PROFILES = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > MAX_CACHED_PROFILES;
+        }
+    };
+
+    private static final Map<Class<?>, Method> LEGACY_SET_PROFILE = new ConcurrentHashMap<>();
+
+    private SkullTextures() {}
+
+    /**
+     * Whether the texture can be applied through the player profile API.
+     */
+    static boolean useProfileApi() {
+        return CREATE_PROFILE != null;
+    }
+
+    static void applyProfile(SkullMeta skullMeta, String base64) throws Exception {
+        Object profile = profile(base64);
+        try {
+            SET_OWNER_PROFILE.invoke(skullMeta, profile);
+        } catch (Throwable e) {
+            throw asException(e);
+        }
+    }
+
+    static void applyLegacyProfile(SkullMeta skullMeta, String base64) throws Exception {
+        GameProfile profile = ((LegacyTexture) profile(base64)).createProfile();
+        Method method = LEGACY_SET_PROFILE.get(skullMeta.getClass());
+        if (method == null) {
+            method = skullMeta.getClass().getDeclaredMethod("setProfile", GameProfile.class);
+            method.setAccessible(true);
+            LEGACY_SET_PROFILE.put(skullMeta.getClass(), method);
+        }
+        method.invoke(skullMeta, profile);
+    }
+
+    static UUID textureId(String base64) {
+        return new UUID(base64.hashCode(), base64.hashCode());
+    }
+
+    static URL urlFromBase64(String base64) throws MalformedURLException {
+        String decoded = new String(Base64.getDecoder().decode(base64), StandardCharsets.UTF_8);
+        return new URL(decoded.substring(URL_PREFIX.length(), decoded.length() - URL_SUFFIX.length()));
+    }
+
+    private static Object profile(String base64) throws Exception {
+        synchronized (PROFILES) {
+            Object profile = PROFILES.get(base64);
+            if (profile != null) {
+                return profile;
+            }
+        }
+
+        Object profile = useProfileApi() ? createProfile(base64) : new LegacyTexture(textureId(base64), new Property("textures", base64));
+        synchronized (PROFILES) {
+            PROFILES.put(base64, profile);
+        }
+        return profile;
+    }
+
+    private static Object createProfile(String base64) throws Exception {
+        try {
+            Object profile = CREATE_PROFILE.invoke(textureId(base64));
+            Object textures = GET_TEXTURES.invoke(profile);
+            SET_SKIN.invoke(textures, urlFromBase64(base64));
+            return profile;
+        } catch (Throwable e) {
+            throw asException(e);
+        }
+    }
+
+    private static Exception asException(Throwable throwable) {
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        return throwable instanceof Exception exception ? exception : new Exception(throwable);
+    }
+
+    /**
+     * Immutable inputs of a legacy skull profile.
+     */
+    private record LegacyTexture(UUID id, Property property) {
+
+        private GameProfile createProfile() {
+            GameProfile profile = new GameProfile(id, "gether.dev");
+            profile.getProperties().put("textures", property);
+            return profile;
+        }
+    }
+}
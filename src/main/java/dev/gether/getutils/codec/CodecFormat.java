@@ -0,0 +1,67 @@
+package dev.gether.getutils.codec;
+
+/**
+ * Constants of the binary item format.
+ *
+ * <pre>
+ * header : magic 'G' 'U' | version | flags
+ * body   : single item record, or varint slot count followed by slot records
+ *          (deflated when FLAG_COMPRESSED is set)
+ * slot   : TAG_EMPTY_RUN varint(count) | TAG_ITEM item
+ * item   : string(material) varint(amount) varint(n) n * (string(key) value)
+ * string : varint(0) varint(length) utf8   - new string, added to the table
+ *        | varint(index + 1)               - reference to the table
+ *
+ * stream : header (FLAG_STREAM) followed by records until TAG_END_STREAM,
+ *          the string table is shared by all records of the stream
+ * record : TAG_INVENTORY varint(slot count) slot* | TAG_END_STREAM
+ * </pre>
+ */
+final class CodecFormat {
+
+    static final byte MAGIC_0 = 'G';
+    static final byte MAGIC_1 = 'U';
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 4;
+
+    static final int FLAG_COMPRESSED = 1;
+    static final int FLAG_ARRAY = 1 << 1;
+    static final int FLAG_STREAM = 1 << 2;
+
+    static final int TAG_EMPTY_RUN = 0;
+    static final int TAG_ITEM = 1;
+
+    static final int TAG_INVENTORY = 2;
+    static final int TAG_END_STREAM = 3;
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_STRING = 1;
+    static final int VALUE_INT = 2;
+    static final int VALUE_LONG = 3;
+    static final int VALUE_DOUBLE = 4;
+    static final int VALUE_FLOAT = 5;
+    static final int VALUE_TRUE = 6;
+    static final int VALUE_FALSE = 7;
+    static final int VALUE_LIST = 8;
+    static final int VALUE_MAP = 9;
+    static final int VALUE_SERIALIZABLE = 10;
+
+    /**
+     * Upper bound of the string table, later strings are written literally.
+     */
+    static final int MAX_INTERNED_STRINGS = 4096;
+
+    /**
+     * Upper bounds of lengths read from the data, larger values are rejected as corrupt
+     * before anything is allocated for them.
+     */
+    static final int MAX_STRING_BYTES = 1 << 21;
+    static final int MAX_COLLECTION_SIZE = 1 << 16;
+    static final int MAX_SLOTS = 1 << 16;
+
+    private CodecFormat() {}
+
+    static boolean hasMagic(byte[] data) {
+        return data.length >= HEADER_SIZE && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+}
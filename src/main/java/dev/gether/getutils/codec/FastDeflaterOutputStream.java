@@ -0,0 +1,26 @@
+package dev.gether.getutils.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Deflates with {@link Deflater#BEST_SPEED}. Unlike a {@link DeflaterOutputStream} given its own
+ * {@link Deflater}, closing the stream also ends the deflater and frees its native memory.
+ */
+class FastDeflaterOutputStream extends DeflaterOutputStream {
+
+    FastDeflaterOutputStream(OutputStream out, int bufferSize) {
+        super(out, new Deflater(Deflater.BEST_SPEED), bufferSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            def.end();
+        }
+    }
+}
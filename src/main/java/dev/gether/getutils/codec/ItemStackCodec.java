@@ -0,0 +1,224 @@
+package dev.gether.getutils.codec;
+
+import dev.gether.getutils.utils.InventoryUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bukkit.inventory.ItemStack;
+import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.zip.InflaterInputStream;
+
+import static dev.gether.getutils.codec.CodecFormat.*;
+
+/**
+ * Versioned binary codec for {@link ItemStack} and {@link ItemStack} arrays.
+ *
+ * <p>Compared to {@link InventoryUtils#itemStackArrayToBase64(ItemStack[])}, which uses Java serialization,
+ * the encoding stores runs of empty slots as a single record, writes every material name and meta key
+ * only once, and can optionally be deflated.</p>
+ *
+ * <p>The Base64 decoders also accept the legacy {@link InventoryUtils} format, so stored data can be
+ * migrated by reading it and writing it back with this codec.</p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ItemStackCodec {
+
+    /**
+     * Encodes a single item.
+     *
+     * @param item The item to encode, may be null.
+     * @param compress Whether to deflate the encoded body.
+     * @return The encoded bytes.
+     * @throws IllegalStateException if the item cannot be encoded.
+     */
+    public static byte[] encode(ItemStack item, boolean compress) throws IllegalStateException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            try (DataOutputStream out = body(bytes, compress ? FLAG_COMPRESSED : 0)) {
+                ItemStackOutput output = new ItemStackOutput(out);
+                output.writeSlot(item);
+                output.flushEmpty();
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save item stack.", e);
+        }
+    }
+
+    /**
+     * Encodes an item array, e.g. inventory contents. Null and air slots are stored as empty.
+     *
+     * @param items The items to encode.
+     * @param compress Whether to deflate the encoded body.
+     * @return The encoded bytes.
+     * @throws IllegalStateException if the items cannot be encoded.
+     */
+    public static byte[] encode(ItemStack[] items, boolean compress) throws IllegalStateException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (DataOutputStream out = body(bytes, FLAG_ARRAY | (compress ? FLAG_COMPRESSED : 0))) {
+                ItemStackOutput output = new ItemStackOutput(out);
+                output.writeVarInt(items.length);
+                for (ItemStack item : items) {
+                    output.writeSlot(item);
+                }
+                output.flushEmpty();
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save item stacks.", e);
+        }
+    }
+
+    /**
+     * Decodes a single item encoded with {@link #encode(ItemStack, boolean)}.
+     *
+     * @param data The encoded bytes.
+     * @return The decoded item, or null if an empty item was encoded.
+     * @throws IOException if the data is not a valid single item encoding.
+     */
+    public static ItemStack decode(byte[] data) throws IOException {
+        try (DataInputStream in = openBody(data, false)) {
+            return new ItemStackInput(in).readSlot();
+        }
+    }
+
+    /**
+     * Decodes an item array encoded with {@link #encode(ItemStack[], boolean)}.
+     *
+     * @param data The encoded bytes.
+     * @return The decoded items, empty slots are null.
+     * @throws IOException if the data is not a valid array encoding.
+     */
+    public static ItemStack[] decodeArray(byte[] data) throws IOException {
+        try (DataInputStream in = openBody(data, true)) {
+            ItemStackInput input = new ItemStackInput(in);
+            ItemStack[] items = new ItemStack[input.readLength("array", MAX_SLOTS)];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = input.readSlot();
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Encodes a single item as a Base64 string, e.g. for an SQL text column.
+     *
+     * @param item The item to encode, may be null.
+     * @param compress Whether to deflate the encoded body.
+     * @return Base64 string of the item.
+     */
+    public static String encodeToBase64(ItemStack item, boolean compress) {
+        return Base64.getEncoder().encodeToString(encode(item, compress));
+    }
+
+    /**
+     * Encodes an item array as a Base64 string, e.g. for an SQL text column.
+     *
+     * @param items The items to encode.
+     * @param compress Whether to deflate the encoded body.
+     * @return Base64 string of the items.
+     */
+    public static String encodeToBase64(ItemStack[] items, boolean compress) {
+        return Base64.getEncoder().encodeToString(encode(items, compress));
+    }
+
+    /**
+     * Decodes a single item from Base64, accepting both this codec and the legacy
+     * {@link InventoryUtils#itemStackToBase64(ItemStack)} format.
+     *
+     * @param data Base64 string of the item.
+     * @return The decoded item.
+     * @throws IOException if the data cannot be decoded.
+     */
+    public static ItemStack decodeFromBase64(String data) throws IOException {
+        byte[] bytes = decodeBase64(data);
+        return hasMagic(bytes) ? decode(bytes) : InventoryUtils.itemStackFromBase64(data);
+    }
+
+    /**
+     * Decodes an item array from Base64, accepting both this codec and the legacy
+     * {@link InventoryUtils#itemStackArrayToBase64(ItemStack[])} format.
+     *
+     * @param data Base64 string of the items.
+     * @return The decoded items.
+     * @throws IOException if the data cannot be decoded.
+     */
+    public static ItemStack[] decodeArrayFromBase64(String data) throws IOException {
+        byte[] bytes = decodeBase64(data);
+        return hasMagic(bytes) ? decodeArray(bytes) : InventoryUtils.itemStackArrayFromBase64(data);
+    }
+
+    /**
+     * Checks whether the Base64 string still uses the legacy Java serialization format.
+     *
+     * @param data Base64 string of an item or item array.
+     * @return true if the data should be migrated.
+     */
+    public static boolean isLegacy(String data) {
+        try {
+            return !hasMagic(decodeBase64(data));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] decodeBase64(String data) throws IOException {
+        try {
+            // Base64Coder also accepts the line breaks written by encodeLines
+            return Base64Coder.decodeLines(data);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid Base64 data.", e);
+        }
+    }
+
+    static void writeHeader(OutputStream out, int flags) throws IOException {
+        out.write(MAGIC_0);
+        out.write(MAGIC_1);
+        out.write(VERSION);
+        out.write(flags);
+    }
+
+    /**
+     * Checks the header and returns the flags it declares.
+     */
+    static int readHeader(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(HEADER_SIZE);
+        if (!hasMagic(header)) {
+            throw new IOException("Not an encoded item stack.");
+        }
+        if (header[2] > VERSION) {
+            throw new IOException("Unsupported item codec version: " + header[2]);
+        }
+        return header[3];
+    }
+
+    private static DataOutputStream body(OutputStream bytes, int flags) throws IOException {
+        writeHeader(bytes, flags);
+        OutputStream body = (flags & FLAG_COMPRESSED) != 0
+                ? new FastDeflaterOutputStream(bytes, 512)
+                : bytes;
+        return new DataOutputStream(body);
+    }
+
+    private static DataInputStream openBody(byte[] data, boolean array) throws IOException {
+        InputStream bytes = new ByteArrayInputStream(data);
+        int flags = readHeader(bytes);
+        if ((flags & FLAG_STREAM) != 0) {
+            throw new IOException("Encoded data is a stream, read it with ItemStackStreamReader.");
+        }
+        if (((flags & FLAG_ARRAY) != 0) != array) {
+            throw new IOException(array ? "Encoded data holds a single item, not an array." : "Encoded data holds an array, not a single item.");
+        }
+        InputStream body = (flags & FLAG_COMPRESSED) != 0 ? new InflaterInputStream(bytes) : bytes;
+        return new DataInputStream(body);
+    }
+}
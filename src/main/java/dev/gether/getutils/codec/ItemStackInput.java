@@ -0,0 +1,191 @@
+package dev.gether.getutils.codec;
+
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.gether.getutils.codec.CodecFormat.*;
+
+/**
+ * Reads item records written by {@link ItemStackOutput}.
+ */
+class ItemStackInput {
+
+    private final DataInput in;
+    private final List<String> strings = new ArrayList<>();
+    private int remainingEmpty;
+
+    ItemStackInput(DataInput in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next slot of an inventory.
+     *
+     * @return the item, or null for an empty slot
+     */
+    ItemStack readSlot() throws IOException {
+        if (remainingEmpty > 0) {
+            remainingEmpty--;
+            return null;
+        }
+
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_EMPTY_RUN:
+                int run = readLength("empty run", MAX_SLOTS);
+                if (run == 0) {
+                    throw new IOException("Invalid empty run length: 0");
+                }
+                remainingEmpty = run - 1;
+                return null;
+            case TAG_ITEM:
+                return readItem();
+            default:
+                throw new IOException("Unknown slot tag: " + tag);
+        }
+    }
+
+    ItemStack readItem() throws IOException {
+        String material = readString();
+        int amount = readVarInt();
+        int extra = readLength("item data", MAX_COLLECTION_SIZE);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < extra; i++) {
+            String key = readString();
+            data.put(key, readValue());
+        }
+        data.put("type", material);
+        data.put("amount", amount);
+
+        try {
+            return ItemStack.deserialize(data);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unable to decode item " + material, e);
+        }
+    }
+
+    Object readValue() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString();
+            case VALUE_INT:
+                return unZigZag(readVarInt());
+            case VALUE_LONG:
+                return unZigZag(readVarLong());
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_FLOAT:
+                return in.readFloat();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_LIST:
+                int size = readLength("list", MAX_COLLECTION_SIZE);
+                // the length is not trusted for preallocation, nested lists would multiply it
+                List<Object> list = new ArrayList<>(Math.min(size, 16));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                return list;
+            case VALUE_MAP:
+                return readEntries(new LinkedHashMap<>());
+            case VALUE_SERIALIZABLE:
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, readString());
+                readEntries(map);
+                try {
+                    return ConfigurationSerialization.deserializeObject(map);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unable to decode " + map.get(ConfigurationSerialization.SERIALIZED_TYPE_KEY), e);
+                }
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    private Map<String, Object> readEntries(Map<String, Object> map) throws IOException {
+        int size = readLength("map", MAX_COLLECTION_SIZE);
+        for (int i = 0; i < size; i++) {
+            String key = readString();
+            map.put(key, readValue());
+        }
+        return map;
+    }
+
+    String readString() throws IOException {
+        int reference = readVarInt();
+        if (reference < 0) {
+            throw new IOException("Invalid string reference: " + reference);
+        }
+        if (reference > 0) {
+            if (reference > strings.size()) {
+                throw new IOException("Invalid string reference: " + reference);
+            }
+            return strings.get(reference - 1);
+        }
+
+        byte[] bytes = new byte[readLength("string", MAX_STRING_BYTES)];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        if (strings.size() < MAX_INTERNED_STRINGS) {
+            strings.add(value);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a varint length or count and rejects negative values and values above the maximum.
+     */
+    int readLength(String name, int max) throws IOException {
+        int length = readVarInt();
+        if (length < 0 || length > max) {
+            throw new IOException("Invalid " + name + " length: " + length);
+        }
+        return length;
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt is too long");
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarLong is too long");
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
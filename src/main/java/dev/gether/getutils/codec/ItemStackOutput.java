@@ -0,0 +1,170 @@
+package dev.gether.getutils.codec;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static dev.gether.getutils.codec.CodecFormat.*;
+
+/**
+ * Writes item records in the binary format described in {@link CodecFormat}.
+ * Strings (materials, meta keys, repeated names) are interned, so every distinct string is written once.
+ */
+class ItemStackOutput {
+
+    private final DataOutput out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private int pendingEmpty;
+
+    ItemStackOutput(DataOutput out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the next slot of an inventory. Empty slots are collected and written as a single run.
+     */
+    void writeSlot(ItemStack item) throws IOException {
+        if (isEmpty(item)) {
+            pendingEmpty++;
+            return;
+        }
+        flushEmpty();
+        out.writeByte(TAG_ITEM);
+        writeItem(item);
+    }
+
+    /**
+     * Writes the collected run of empty slots, if any.
+     */
+    void flushEmpty() throws IOException {
+        if (pendingEmpty > 0) {
+            out.writeByte(TAG_EMPTY_RUN);
+            writeVarInt(pendingEmpty);
+            pendingEmpty = 0;
+        }
+    }
+
+    void writeItem(ItemStack item) throws IOException {
+        Map<String, Object> data = item.serialize();
+
+        writeString(item.getType().name());
+        writeVarInt(item.getAmount());
+
+        int extra = data.size() - (data.containsKey("type") ? 1 : 0) - (data.containsKey("amount") ? 1 : 0);
+        writeVarInt(extra);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String key = entry.getKey();
+            if (!"type".equals(key) && !"amount".equals(key)) {
+                writeString(key);
+                writeValue(entry.getValue());
+            }
+        }
+    }
+
+    void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(VALUE_STRING);
+            writeString(string);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? VALUE_TRUE : VALUE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(VALUE_INT);
+            writeVarInt(zigZag(((Number) value).intValue()));
+        } else if (value instanceof Long number) {
+            out.writeByte(VALUE_LONG);
+            writeVarLong(zigZag(number));
+        } else if (value instanceof Double number) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof ConfigurationSerializable serializable) {
+            out.writeByte(VALUE_SERIALIZABLE);
+            writeString(ConfigurationSerialization.getAlias(serializable.getClass()));
+            writeEntries(serializable.serialize());
+        } else if (value instanceof ConfigurationSection section) {
+            out.writeByte(VALUE_MAP);
+            writeEntries(section.getValues(false));
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(VALUE_MAP);
+            writeEntries(map);
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte(VALUE_LIST);
+            writeVarInt(collection.size());
+            for (Object element : collection) {
+                writeValue(element);
+            }
+        } else if (value instanceof Object[] array) {
+            out.writeByte(VALUE_LIST);
+            writeVarInt(array.length);
+            for (Object element : array) {
+                writeValue(element);
+            }
+        } else {
+            throw new IOException("Unsupported value type: " + value.getClass().getName());
+        }
+    }
+
+    private void writeEntries(Map<?, ?> map) throws IOException {
+        writeVarInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeString(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+
+        if (strings.size() < MAX_INTERNED_STRINGS) {
+            strings.put(value, strings.size());
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(0);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType().isAir() || item.getAmount() <= 0;
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,194 @@
+package dev.gether.getutils.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.InflaterInputStream;
+
+import static dev.gether.getutils.codec.CodecFormat.*;
+
+/**
+ * Reads a stream written by {@link ItemStackStreamWriter}, one {@link ItemStack} at a time.
+ *
+ * <pre>{@code
+ * try (ItemStackStreamReader reader = ItemStackStreamReader.of(channel)) {
+ *     while (reader.nextInventory()) {
+ *         ItemStack[] contents = reader.readInventory();
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ */
+public class ItemStackStreamReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DataInputStream in;
+    private final ItemStackInput input;
+    private int remainingSlots = -1;
+    private int inventorySize;
+    private boolean finished;
+
+    private ItemStackStreamReader(InputStream source) throws IOException {
+        InputStream buffered = new BufferedInputStream(source, BUFFER_SIZE);
+        int flags;
+        try {
+            flags = ItemStackCodec.readHeader(buffered);
+        } catch (IOException e) {
+            buffered.close();
+            throw e;
+        }
+        if ((flags & FLAG_STREAM) == 0) {
+            buffered.close();
+            throw new IOException("Encoded data is not a stream, read it with ItemStackCodec.");
+        }
+        this.in = new DataInputStream((flags & FLAG_COMPRESSED) != 0 ? new InflaterInputStream(buffered) : buffered);
+        this.input = new ItemStackInput(in);
+    }
+
+    /**
+     * Creates a reader over a channel. Closing the reader closes the channel.
+     *
+     * @param channel The channel to read from.
+     * @return The reader.
+     * @throws IOException if the channel does not start with a stream header.
+     */
+    public static ItemStackStreamReader of(ReadableByteChannel channel) throws IOException {
+        return new ItemStackStreamReader(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Creates a reader over the remaining bytes of a buffer.
+     *
+     * @param buffer The buffer to read from.
+     * @return The reader.
+     * @throws IOException if the buffer does not start with a stream header.
+     */
+    public static ItemStackStreamReader of(ByteBuffer buffer) throws IOException {
+        return new ItemStackStreamReader(new ByteBufferInputStream(buffer));
+    }
+
+    /**
+     * Moves to the next inventory, skipping the unread slots of the current one.
+     *
+     * @return false if the end of the stream was reached.
+     * @throws IOException if reading fails.
+     */
+    public boolean nextInventory() throws IOException {
+        if (finished) {
+            return false;
+        }
+        while (remainingSlots > 0) {
+            readSlot();
+        }
+
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_INVENTORY:
+                inventorySize = input.readLength("inventory", MAX_SLOTS);
+                remainingSlots = inventorySize;
+                return true;
+            case TAG_END_STREAM:
+                finished = true;
+                remainingSlots = -1;
+                return false;
+            default:
+                throw new IOException("Unknown record tag: " + tag);
+        }
+    }
+
+    /**
+     * @return The slot count of the current inventory.
+     */
+    public int getInventorySize() {
+        ensureInventory();
+        return inventorySize;
+    }
+
+    /**
+     * @return Whether the current inventory has unread slots.
+     */
+    public boolean hasNextSlot() {
+        return remainingSlots > 0;
+    }
+
+    /**
+     * Reads the next slot of the current inventory.
+     *
+     * @return The item, or null for an empty slot.
+     * @throws IOException if reading fails.
+     */
+    public ItemStack readSlot() throws IOException {
+        ensureInventory();
+        if (remainingSlots == 0) {
+            throw new IllegalStateException("All slots of the inventory were already read.");
+        }
+        remainingSlots--;
+        return input.readSlot();
+    }
+
+    /**
+     * Reads the unread slots of the current inventory into an array of the inventory size.
+     *
+     * @return The inventory contents, empty slots are null.
+     * @throws IOException if reading fails.
+     */
+    public ItemStack[] readInventory() throws IOException {
+        ensureInventory();
+        ItemStack[] contents = new ItemStack[inventorySize];
+        for (int i = inventorySize - remainingSlots; i < inventorySize; i++) {
+            contents[i] = readSlot();
+        }
+        return contents;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void ensureInventory() {
+        if (remainingSlots < 0) {
+            throw new IllegalStateException("No current inventory, call nextInventory() first.");
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package dev.gether.getutils.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import static dev.gether.getutils.codec.CodecFormat.*;
+
+/**
+ * Writes many inventories into one stream, one {@link ItemStack} at a time.
+ *
+ * <p>Only a fixed size buffer and the bounded string table are held in memory, so thousands of
+ * inventories can be exported without building byte arrays or strings for them. Read the result
+ * with {@link ItemStackStreamReader}.</p>
+ *
+ * <pre>{@code
+ * try (ItemStackStreamWriter writer = ItemStackStreamWriter.of(channel, true)) {
+ *     for (PlayerData data : players) {
+ *         writer.writeInventory(data.getContents());
+ *     }
+ * }
+ * }</pre>
+ */
+public class ItemStackStreamWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DataOutputStream out;
+    private final ItemStackOutput output;
+    private int remainingSlots = -1;
+    private boolean closed;
+
+    private ItemStackStreamWriter(OutputStream target, boolean compress) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(target, BUFFER_SIZE);
+        ItemStackCodec.writeHeader(buffered, FLAG_STREAM | (compress ? FLAG_COMPRESSED : 0));
+        this.out = new DataOutputStream(compress
+                ? new FastDeflaterOutputStream(buffered, BUFFER_SIZE)
+                : buffered);
+        this.output = new ItemStackOutput(out);
+    }
+
+    /**
+     * Creates a writer over a channel. Closing the writer closes the channel.
+     *
+     * @param channel The channel to write to.
+     * @param compress Whether to deflate the stream.
+     * @return The writer.
+     * @throws IOException if the header cannot be written.
+     */
+    public static ItemStackStreamWriter of(WritableByteChannel channel, boolean compress) throws IOException {
+        return new ItemStackStreamWriter(Channels.newOutputStream(channel), compress);
+    }
+
+    /**
+     * Creates a writer over a buffer. Writing past the buffer limit throws {@link java.nio.BufferOverflowException}.
+     *
+     * @param buffer The buffer to write to, starting at its position.
+     * @param compress Whether to deflate the stream.
+     * @return The writer.
+     * @throws IOException if the header cannot be written.
+     */
+    public static ItemStackStreamWriter of(ByteBuffer buffer, boolean compress) throws IOException {
+        return new ItemStackStreamWriter(new ByteBufferOutputStream(buffer), compress);
+    }
+
+    /**
+     * Writes a whole inventory.
+     *
+     * @param contents The inventory contents, null and air slots are stored as empty.
+     * @throws IOException if writing fails.
+     */
+    public void writeInventory(ItemStack[] contents) throws IOException {
+        beginInventory(contents.length);
+        for (ItemStack item : contents) {
+            writeSlot(item);
+        }
+        endInventory();
+    }
+
+    /**
+     * Starts an inventory of the given size. Exactly {@code size} calls to {@link #writeSlot(ItemStack)}
+     * have to follow before {@link #endInventory()}.
+     *
+     * @param size The number of slots.
+     * @throws IOException if writing fails.
+     */
+    public void beginInventory(int size) throws IOException {
+        ensureOpen();
+        if (remainingSlots >= 0) {
+            throw new IllegalStateException("The previous inventory was not ended.");
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Inventory size cannot be negative: " + size);
+        }
+        out.writeByte(TAG_INVENTORY);
+        output.writeVarInt(size);
+        remainingSlots = size;
+    }
+
+    /**
+     * Writes the next slot of the current inventory.
+     *
+     * @param item The item, may be null.
+     * @throws IOException if writing fails.
+     */
+    public void writeSlot(ItemStack item) throws IOException {
+        ensureOpen();
+        if (remainingSlots <= 0) {
+            throw new IllegalStateException(remainingSlots < 0 ? "No inventory was started." : "All slots of the inventory were already written.");
+        }
+        output.writeSlot(item);
+        remainingSlots--;
+    }
+
+    /**
+     * Ends the current inventory.
+     *
+     * @throws IOException if writing fails.
+     */
+    public void endInventory() throws IOException {
+        ensureOpen();
+        if (remainingSlots != 0) {
+            throw new IllegalStateException(remainingSlots < 0 ? "No inventory was started." : remainingSlots + " slots of the inventory were not written.");
+        }
+        output.flushEmpty();
+        remainingSlots = -1;
+    }
+
+    /**
+     * Pushes the buffered bytes to the target. With compression enabled some bytes
+     * may stay in the deflater until {@link #close()}.
+     */
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * Ends the stream, frees the deflater and closes the target.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (remainingSlots >= 0) {
+                throw new IllegalStateException("The last inventory was not ended.");
+            }
+            out.writeByte(TAG_END_STREAM);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The writer is closed.");
+        }
+    }
+
+    private static class ByteBufferOutputStream extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+    }
+}
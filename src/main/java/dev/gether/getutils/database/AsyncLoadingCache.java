@@ -0,0 +1,233 @@
+package dev.gether.getutils.database;
+
+import dev.gether.getutils.utils.DatabaseCallbackUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-through cache for values loaded from the database, e.g. player profiles.
+ *
+ * <p>Concurrent requests for the same key share one in-flight load, so a profile requested by several
+ * plugins on join is queried once. Loaded values expire after {@code ttl} and the least recently used keys
+ * are evicted above {@code maximumSize}. Keys that are still loading are not evicted, so the cache may exceed
+ * {@code maximumSize} while more loads than that are in flight. Failed loads are not cached.</p>
+ *
+ * <pre>{@code
+ * AsyncLoadingCache<UUID, Profile> profiles = AsyncLoadingCache.<UUID, Profile>builder()
+ *         .loader(repository::loadProfile)
+ *         .ttl(Duration.ofMinutes(10))
+ *         .maximumSize(1000)
+ *         .build();
+ *
+ * profiles.get(player.getUniqueId(), profile -> ..., error -> ...);
+ * }</pre>
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class AsyncLoadingCache<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncLoadingCache.class.getName());
+
+    private final Loader<K, V> loader;
+    @Getter private final Duration ttl;
+    @Getter private final int maximumSize;
+    private final Executor executor;
+    private final long ttlNanos;
+
+    private final Map<K, Entry<V>> entries;
+
+    /**
+     * @param loader Loads the value of a key, runs on the executor
+     * @param ttl How long a loaded value stays valid, null for no expiry
+     * @param maximumSize The maximum number of cached keys, 1000 by default
+     * @param executor The executor running the loads, the database executor by default
+     */
+    @Builder
+    private AsyncLoadingCache(Loader<K, V> loader, Duration ttl, int maximumSize, Executor executor) {
+        if (loader == null) throw new IllegalArgumentException("Loader cannot be null");
+        this.loader = loader;
+        this.ttl = ttl;
+        this.ttlNanos = ttl == null ? Long.MAX_VALUE : ttl.toNanos();
+        this.maximumSize = maximumSize > 0 ? maximumSize : 1000;
+        this.executor = executor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= AsyncLoadingCache.this.maximumSize) {
+                    return false;
+                }
+                if (eldest.getValue().loadedAt != 0L) {
+                    return true;
+                }
+                // in-flight loads stay shared, evict the least recently used loaded key instead
+                Iterator<Entry<V>> iterator = values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().loadedAt != 0L) {
+                        iterator.remove();
+                        break;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or starts loading it. Requests for a key that is already
+     * being loaded receive the same future.
+     *
+     * @param key The key
+     * @return Future of the value, completed on a database thread or immediately when cached
+     */
+    public CompletableFuture<V> get(K key) {
+        Entry<V> created;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired(ttlNanos)) {
+                // copies keep one caller from cancelling or completing the future shared by all callers
+                return entry.future.copy();
+            }
+            created = new Entry<>();
+            entries.put(key, created);
+        }
+
+        CompletableFuture<V> load;
+        try {
+            load = DatabaseCallbackUtil.supplyAsync(() -> loader.load(key), executor);
+        } catch (RuntimeException e) {
+            // e.g. RejectedExecutionException - do not leave an entry that never completes
+            synchronized (entries) {
+                entries.remove(key, created);
+            }
+            created.future.completeExceptionally(e);
+            return created.future.copy();
+        }
+        load.whenComplete((value, throwable) -> {
+            synchronized (entries) {
+                // the key may have been invalidated or reloaded in the meantime
+                if (entries.get(key) == created) {
+                    if (throwable == null) {
+                        created.loadedAt = System.nanoTime();
+                    } else {
+                        entries.remove(key);
+                    }
+                }
+            }
+            if (throwable == null) {
+                created.future.complete(value);
+            } else {
+                created.future.completeExceptionally(throwable);
+            }
+        });
+        return created.future.copy();
+    }
+
+    /**
+     * Returns the value of the key to the callbacks on the main thread.
+     *
+     * @param key The key
+     * @param successCallback Callback to handle the value
+     * @param errorCallback Callback to handle errors
+     */
+    public void get(K key, Consumer<V> successCallback, Consumer<Exception> errorCallback) {
+        DatabaseCallbackUtil.callback(get(key), successCallback, errorCallback);
+    }
+
+    /**
+     * Returns the value of the key to the callback on the main thread, errors are logged.
+     *
+     * @param key The key
+     * @param successCallback Callback to handle the value
+     */
+    public void get(K key, Consumer<V> successCallback) {
+        get(key, successCallback, e -> LOGGER.log(Level.SEVERE, "Failed to load " + key, e));
+    }
+
+    /**
+     * @param key The key
+     * @return The loaded, not expired value of the key, or null without starting a load
+     */
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || entry.loadedAt == 0L || entry.isExpired(ttlNanos)) {
+                return null;
+            }
+            return entry.future.getNow(null);
+        }
+    }
+
+    /**
+     * Stores a value, e.g. after it was saved, replacing a cached or in-flight value.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>();
+        entry.future.complete(value);
+        entry.loadedAt = System.nanoTime();
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Removes the key, a load that is still running for it will not be cached.
+     *
+     * @param key The key
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return The number of cached and loading keys
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        // 0 while loading, guarded by the entries lock
+        private long loadedAt;
+
+        private boolean isExpired(long ttlNanos) {
+            return loadedAt != 0L && System.nanoTime() - loadedAt >= ttlNanos;
+        }
+    }
+
+    /**
+     * Loads the value of a key from the database.
+     *
+     * @param <K> The key type
+     * @param <V> The value type
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws Exception;
+    }
+}
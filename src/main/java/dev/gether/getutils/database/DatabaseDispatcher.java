@@ -0,0 +1,416 @@
+package dev.gether.getutils.database;
+
+import dev.gether.getutils.utils.DatabaseCallbackUtil.DatabaseOperation;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs database operations from a bounded priority queue on a backend executor.
+ *
+ * <ul>
+ *     <li>at most {@code maxConcurrency} operations run at once, the rest wait in the queue ordered by
+ *     {@link DatabasePriority} and submission order</li>
+ *     <li>the queue holds at most {@code queueCapacity} operations, further submissions are handled by the
+ *     {@link RejectionPolicy}</li>
+ *     <li>an operation that exceeds its timeout fails with a {@link TimeoutException}; if it is already running,
+ *     its thread is interrupted, which aborts blocking JDBC calls on most drivers</li>
+ *     <li>cancelling the returned future removes a queued operation or interrupts a running one</li>
+ * </ul>
+ *
+ * <p>{@link #execute(Runnable)} submits with {@link DatabasePriority#NORMAL} priority and no timeout, so the
+ * dispatcher can be used wherever an {@link Executor} is expected.</p>
+ */
+public final class DatabaseDispatcher implements Executor {
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseDispatcher.class.getName());
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    @Getter private final int maxConcurrency;
+    @Getter private final int queueCapacity;
+    @Getter private final RejectionPolicy rejectionPolicy;
+    @Getter private final Duration defaultTimeout;
+
+    private final PriorityQueue<Job<?>> queue = new PriorityQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int active;
+    private boolean shutdown;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong totalExecutionNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    /**
+     * @param executor The backend running the operations, a fixed pool of {@code maxConcurrency} threads by default
+     * @param ownsExecutor Whether {@link #shutdown()} also shuts down the backend, true for the default backend
+     * @param maxConcurrency The number of operations running at once, should match the connection pool size, 3 by default
+     * @param queueCapacity The maximum number of waiting operations, 10000 by default
+     * @param rejectionPolicy What happens when the queue is full, {@link RejectionPolicy#ABORT} by default
+     * @param defaultTimeout The timeout of operations submitted without one, null for none
+     */
+    @Builder
+    private DatabaseDispatcher(Executor executor, Boolean ownsExecutor, int maxConcurrency, int queueCapacity,
+                               RejectionPolicy rejectionPolicy, Duration defaultTimeout) {
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : 3;
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : 10_000;
+        this.rejectionPolicy = rejectionPolicy != null ? rejectionPolicy : RejectionPolicy.ABORT;
+        this.defaultTimeout = defaultTimeout;
+        if (executor == null) {
+            this.executor = DatabaseExecutors.platform(this.maxConcurrency);
+            this.ownsExecutor = true;
+        } else {
+            this.executor = executor;
+            this.ownsExecutor = ownsExecutor != null && ownsExecutor;
+        }
+    }
+
+    /**
+     * Submits an operation with the default timeout.
+     */
+    public <T> CompletableFuture<T> submit(DatabaseOperation<T> operation, DatabasePriority priority) {
+        return submit(operation, priority, defaultTimeout);
+    }
+
+    /**
+     * Submits an operation.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param operation The database operation to execute
+     * @param priority The priority of the operation
+     * @param timeout The time the operation may take from submission until it finishes, null for none
+     * @return Future completed with the result; cancelling it cancels the operation
+     */
+    public <T> CompletableFuture<T> submit(DatabaseOperation<T> operation, DatabasePriority priority, Duration timeout) {
+        Job<T> job = new Job<>(operation, priority != null ? priority : DatabasePriority.NORMAL, sequence.getAndIncrement());
+        try {
+            enqueue(job, timeout);
+        } catch (RejectedExecutionException e) {
+            job.future.completeExceptionally(e);
+        }
+        return job.future;
+    }
+
+    /**
+     * Runs the task with {@link DatabasePriority#NORMAL} priority and no timeout.
+     *
+     * @throws RejectedExecutionException if the queue is full or the dispatcher was shut down
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) throw new IllegalArgumentException("Command cannot be null");
+        enqueue(new Job<>(() -> {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                // nobody reads the future of a plain task
+                LOGGER.log(Level.SEVERE, "Database task failed", e);
+                throw e;
+            }
+            return null;
+        }, DatabasePriority.NORMAL, sequence.getAndIncrement()), null);
+    }
+
+    private void enqueue(Job<?> job, Duration timeout) {
+        submitted.incrementAndGet();
+        Job<?> evicted = null;
+        boolean startWorker = false;
+        synchronized (queue) {
+            if (shutdown) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("The database dispatcher was shut down");
+            }
+            if (queue.size() >= queueCapacity) {
+                evicted = rejectionPolicy == RejectionPolicy.DISCARD_LOWEST ? removeLowerThan(job) : null;
+                if (evicted == null) {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("The database queue is full (" + queueCapacity + " operations)");
+                }
+            }
+            queue.add(job);
+            if (active < maxConcurrency) {
+                active++;
+                startWorker = true;
+            }
+        }
+
+        if (evicted != null) {
+            rejected.incrementAndGet();
+            evicted.future.completeExceptionally(new RejectedExecutionException("Discarded for an operation with a higher priority"));
+        }
+        if (timeout != null && !timeout.isNegative() && !timeout.isZero()) {
+            ScheduledFuture<?> timer = TIMER.schedule(() -> job.timeout(timeout), timeout.toNanos(), TimeUnit.NANOSECONDS);
+            job.future.whenComplete((result, throwable) -> timer.cancel(false));
+        }
+        job.future.whenComplete((result, throwable) -> job.onDone(throwable));
+        if (startWorker) {
+            startWorker();
+        }
+    }
+
+    /**
+     * @return A snapshot of the queue and timing counters
+     */
+    public DatabaseMetrics getMetrics() {
+        int depth;
+        int running;
+        synchronized (queue) {
+            depth = queue.size();
+            running = active;
+        }
+        long startedCount = started.get();
+        long finishedCount = finished.get();
+        return new DatabaseMetrics(depth, running, submitted.get(), completed.get(), failed.get(), rejected.get(),
+                timedOut.get(), cancelled.get(),
+                startedCount == 0 ? 0 : toMillis(totalWaitNanos.get()) / startedCount, toMillis(maxWaitNanos.get()),
+                finishedCount == 0 ? 0 : toMillis(totalExecutionNanos.get()) / finishedCount, toMillis(maxExecutionNanos.get()));
+    }
+
+    /**
+     * Stops accepting operations and waits up to 10 seconds for the queued ones.
+     */
+    public void shutdown() {
+        shutdown(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Stops accepting operations without waiting, the queued ones finish on a background thread.
+     */
+    public void shutdownAsync() {
+        synchronized (queue) {
+            shutdown = true;
+        }
+        Thread thread = new Thread(this::shutdown, "getutils-db-shutdown");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops accepting operations. Queued operations still run, then the backend is shut down if it is owned.
+     * Operations still queued at the deadline are not run, their futures fail with a {@link RejectedExecutionException}.
+     *
+     * @param timeout How long to wait for the queued and running operations
+     */
+    public void shutdown(Duration timeout) {
+        synchronized (queue) {
+            shutdown = true;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Job<?>> remaining = List.of();
+        synchronized (queue) {
+            while ((active > 0 || !queue.isEmpty()) && System.nanoTime() < deadline) {
+                try {
+                    queue.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (!queue.isEmpty()) {
+                LOGGER.warning(queue.size() + " database operations were not executed before shutdown");
+                remaining = new ArrayList<>(queue);
+                queue.clear();
+            }
+        }
+        // completed outside the lock, the callbacks of the futures may run on this thread
+        for (Job<?> job : remaining) {
+            rejected.incrementAndGet();
+            job.future.completeExceptionally(new RejectedExecutionException("The database dispatcher was shut down before the operation ran"));
+        }
+        if (ownsExecutor && executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Removes the queued job with the lowest priority if it has a lower priority than the given job.
+     */
+    private Job<?> removeLowerThan(Job<?> job) {
+        Job<?> lowest = null;
+        for (Job<?> queued : queue) {
+            if (lowest == null || queued.compareTo(lowest) > 0) {
+                lowest = queued;
+            }
+        }
+        if (lowest != null && lowest.priority.ordinal() > job.priority.ordinal()) {
+            queue.remove(lowest);
+            return lowest;
+        }
+        return null;
+    }
+
+    private void startWorker() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (queue) {
+                active--;
+                queue.notifyAll();
+            }
+            LOGGER.log(Level.SEVERE, "The database executor rejected a worker", e);
+        }
+    }
+
+    private void drain() {
+        boolean finished = false;
+        try {
+            while (true) {
+                Job<?> job;
+                synchronized (queue) {
+                    job = queue.poll();
+                    if (job == null) {
+                        // decremented under the lock, so a job queued right now starts a new worker
+                        active--;
+                        queue.notifyAll();
+                        finished = true;
+                        return;
+                    }
+                }
+                job.run();
+            }
+        } finally {
+            if (!finished) {
+                // the worker died, hand its slot to a new worker if jobs are waiting
+                boolean restart;
+                synchronized (queue) {
+                    restart = !queue.isEmpty();
+                    if (!restart) {
+                        active--;
+                        queue.notifyAll();
+                    }
+                }
+                if (restart) {
+                    startWorker();
+                }
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        started.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void recordExecution(long nanos) {
+        finished.incrementAndGet();
+        totalExecutionNanos.addAndGet(nanos);
+        maxExecutionNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "getutils-db-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // timers of finished jobs are cancelled, remove them right away instead of keeping the jobs until their deadline
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private final class Job<T> implements Comparable<Job<?>> {
+
+        private final DatabaseOperation<T> operation;
+        private final DatabasePriority priority;
+        private final long sequence;
+        private final long submittedAt = System.nanoTime();
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        // the thread running the operation, guarded by this job
+        private Thread runner;
+
+        private Job(DatabaseOperation<T> operation, DatabasePriority priority, long sequence) {
+            this.operation = operation;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        private void run() {
+            synchronized (this) {
+                // cancelled, timed out or discarded while queued
+                if (future.isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+
+            long startedAt = System.nanoTime();
+            recordWait(startedAt - submittedAt);
+            try {
+                future.complete(operation.execute());
+            } catch (Throwable throwable) {
+                // errors such as NoClassDefFoundError from a missing driver must still complete the future
+                if (throwable instanceof Error) {
+                    LOGGER.log(Level.SEVERE, "Error in database operation", throwable);
+                }
+                future.completeExceptionally(throwable);
+            } finally {
+                recordExecution(System.nanoTime() - startedAt);
+                synchronized (this) {
+                    runner = null;
+                }
+                // the interrupt may have arrived after the operation returned, do not leak it to the next job
+                Thread.interrupted();
+            }
+        }
+
+        private void timeout(Duration timeout) {
+            future.completeExceptionally(new TimeoutException("Database operation exceeded " + timeout.toMillis() + " ms"));
+        }
+
+        /**
+         * Counts the outcome and stops the operation if the future was completed by a timeout or cancellation.
+         */
+        private void onDone(Throwable throwable) {
+            if (throwable == null) {
+                completed.incrementAndGet();
+                return;
+            }
+            if (throwable instanceof CancellationException) {
+                cancelled.incrementAndGet();
+            } else if (throwable instanceof TimeoutException) {
+                timedOut.incrementAndGet();
+            } else if (!(throwable instanceof RejectedExecutionException)) {
+                failed.incrementAndGet();
+            }
+
+            synchronized (queue) {
+                queue.remove(this);
+            }
+            synchronized (this) {
+                // a failing operation completes its own future, only stop it from other threads
+                if (runner != null && runner != Thread.currentThread()) {
+                    runner.interrupt();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(Job<?> other) {
+            int byPriority = Integer.compare(priority.ordinal(), other.priority.ordinal());
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
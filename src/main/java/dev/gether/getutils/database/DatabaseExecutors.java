@@ -0,0 +1,78 @@
+package dev.gether.getutils.database;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor backends for {@link dev.gether.getutils.utils.DatabaseCallbackUtil}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DatabaseExecutors {
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseExecutors.class.getName());
+
+    /**
+     * Creates a fixed pool of platform threads. The size should match the size of the connection pool.
+     *
+     * @param threads The number of threads
+     * @return The executor
+     */
+    public static ExecutorService platform(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be at least 1");
+        return Executors.newFixedThreadPool(threads, threadFactory());
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads (Java 21+).
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return virtualFactory() != null;
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per operation, or a fixed platform pool
+     * if the JVM does not support virtual threads.
+     *
+     * <p>Virtual threads do not limit concurrency, the connection pool does. Blocking JDBC calls
+     * inside {@code synchronized} blocks pin the carrier thread, so drivers should be up to date.</p>
+     *
+     * @param fallbackThreads The size of the platform pool used when virtual threads are not available
+     * @return The executor
+     */
+    public static ExecutorService virtualOrPlatform(int fallbackThreads) {
+        Method factory = virtualFactory();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.log(Level.WARNING, "Failed to create a virtual thread executor, using platform threads", e);
+            }
+        }
+        return platform(fallbackThreads);
+    }
+
+    private static Method virtualFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "getutils-db-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package dev.gether.getutils.database;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the {@link DatabaseDispatcher} counters.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DatabaseMetrics {
+    private final int queueDepth;
+    private final int activeOperations;
+    private final long submitted;
+    private final long completed;
+    private final long failed;
+    private final long rejected;
+    private final long timedOut;
+    private final long cancelled;
+    // time between submission and start, over the started operations
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+    // time between start and end, over the finished operations
+    private final double averageExecutionMillis;
+    private final double maxExecutionMillis;
+}
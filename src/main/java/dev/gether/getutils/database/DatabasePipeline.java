@@ -0,0 +1,247 @@
+package dev.gether.getutils.database;
+
+import dev.gether.getutils.utils.DatabaseCallbackUtil;
+import dev.gether.getutils.utils.DatabaseCallbackUtil.DatabaseOperation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Chain of database operations that runs on the database dispatcher and only returns to the main thread
+ * at the end.
+ *
+ * <pre>{@code
+ * DatabaseCallbackUtil.pipeline(() -> profiles.load(uuid))
+ *         .thenParallel(profile -> guilds.load(profile.getGuildId()),
+ *                       profile -> stats.load(profile.getId()),
+ *                       PlayerData::new)
+ *         .onMainThread(data -> data.apply(player), error -> player.kick(...));
+ * }</pre>
+ *
+ * <p>Every stage is submitted with the priority and timeout of the pipeline, the timeout applies to
+ * each stage separately. A failing stage skips the following stages and fails the pipeline; the other
+ * branches of a parallel stage are cancelled. {@link #cancel()} cancels the queued or running stages
+ * and prevents the following stages from starting.</p>
+ *
+ * @param <T> The result type of the last stage
+ */
+public final class DatabasePipeline<T> {
+
+    private final Context context;
+    private final CompletableFuture<T> future;
+
+    private DatabasePipeline(Context context, CompletableFuture<T> future) {
+        this.context = context;
+        this.future = future;
+        // cancelling the future of the pipeline stops the stages it depends on
+        future.whenComplete((result, throwable) -> {
+            if (throwable instanceof CancellationException) {
+                context.cancel();
+            }
+        });
+    }
+
+    /**
+     * Starts a pipeline with {@link DatabasePriority#NORMAL} priority and the default timeout of the dispatcher.
+     *
+     * @param <T> The result type of the operation
+     * @param operation The first operation
+     * @return The pipeline
+     */
+    public static <T> DatabasePipeline<T> start(DatabaseOperation<T> operation) {
+        return start(operation, DatabasePriority.NORMAL, null);
+    }
+
+    /**
+     * Starts a pipeline.
+     *
+     * @param <T> The result type of the operation
+     * @param operation The first operation
+     * @param priority The priority of every stage
+     * @param timeout The timeout of every stage, null for the default of the dispatcher
+     * @return The pipeline
+     */
+    public static <T> DatabasePipeline<T> start(DatabaseOperation<T> operation, DatabasePriority priority, Duration timeout) {
+        if (operation == null) throw new IllegalArgumentException("Operation cannot be null");
+        Context context = new Context(priority != null ? priority : DatabasePriority.NORMAL, timeout);
+        return new DatabasePipeline<>(context, context.submit(operation));
+    }
+
+    /**
+     * Runs the stage on the database dispatcher with the result of the previous stage.
+     *
+     * @param <R> The result type of the stage
+     * @param stage The stage
+     * @return The pipeline continued with the stage
+     */
+    public <R> DatabasePipeline<R> thenAsync(Stage<? super T, R> stage) {
+        if (stage == null) throw new IllegalArgumentException("Stage cannot be null");
+        return next(future.thenCompose(value -> context.submit(() -> stage.apply(value))));
+    }
+
+    /**
+     * Runs two stages in parallel with the result of the previous stage and combines their results.
+     * If one of them fails, the other one is cancelled.
+     *
+     * @param <A> The result type of the first stage
+     * @param <B> The result type of the second stage
+     * @param <R> The combined result type
+     * @param first The first stage
+     * @param second The second stage
+     * @param combiner Combines the results, runs on the database thread finishing last
+     * @return The pipeline continued with the combined result
+     */
+    public <A, B, R> DatabasePipeline<R> thenParallel(Stage<? super T, A> first,
+                                                      Stage<? super T, B> second,
+                                                      BiFunction<? super A, ? super B, ? extends R> combiner) {
+        if (first == null || second == null) throw new IllegalArgumentException("Stages cannot be null");
+        if (combiner == null) throw new IllegalArgumentException("Combiner cannot be null");
+        return next(future.thenCompose(value -> {
+            CompletableFuture<A> a = context.submit(() -> first.apply(value));
+            CompletableFuture<B> b = context.submit(() -> second.apply(value));
+            return allOrFirstFailure(List.of(a, b)).thenApply(ignored -> combiner.apply(a.join(), b.join()));
+        }));
+    }
+
+    /**
+     * Runs the stages in parallel with the result of the previous stage. If one of them fails,
+     * the others are cancelled.
+     *
+     * @param <R> The result type of the stages
+     * @param stages The stages
+     * @return The pipeline continued with the results, in the order of the stages
+     */
+    public <R> DatabasePipeline<List<R>> thenAll(List<? extends Stage<? super T, ? extends R>> stages) {
+        if (stages == null) throw new IllegalArgumentException("Stages cannot be null");
+        return next(future.thenCompose(value -> {
+            List<CompletableFuture<? extends R>> branches = new ArrayList<>(stages.size());
+            for (Stage<? super T, ? extends R> stage : stages) {
+                branches.add(context.submit(() -> stage.apply(value)));
+            }
+            return allOrFirstFailure(branches).thenApply(ignored -> {
+                List<R> results = new ArrayList<>(branches.size());
+                for (CompletableFuture<? extends R> branch : branches) {
+                    results.add(branch.join());
+                }
+                return results;
+            });
+        }));
+    }
+
+    /**
+     * Delivers the result of the pipeline to the callbacks on the main thread.
+     *
+     * @param successCallback Callback to handle the result
+     * @param errorCallback Callback to handle errors, receives the exception thrown by the failing stage
+     * @return This pipeline, e.g. to cancel it later
+     */
+    public DatabasePipeline<T> onMainThread(Consumer<T> successCallback, Consumer<Exception> errorCallback) {
+        DatabaseCallbackUtil.callback(future, successCallback, errorCallback);
+        return this;
+    }
+
+    /**
+     * Cancels the queued and running stages, the following stages are not started.
+     * The error callback receives a {@link CancellationException}.
+     */
+    public void cancel() {
+        future.cancel(true);
+        context.cancel();
+    }
+
+    /**
+     * @return Future completed with the result of the last stage; cancelling it cancels the pipeline
+     */
+    public CompletableFuture<T> toFuture() {
+        return future;
+    }
+
+    private <R> DatabasePipeline<R> next(CompletableFuture<R> next) {
+        return new DatabasePipeline<>(context, next);
+    }
+
+    /**
+     * Completes when all branches completed, or with the first failure of a branch. The result is completed
+     * before the other branches are cancelled, so their {@link CancellationException}s do not replace the
+     * original failure.
+     */
+    private static CompletableFuture<Void> allOrFirstFailure(List<? extends CompletableFuture<?>> branches) {
+        CompletableFuture<Void> all = new CompletableFuture<>();
+        if (branches.isEmpty()) {
+            all.complete(null);
+            return all;
+        }
+        AtomicInteger remaining = new AtomicInteger(branches.size());
+        for (CompletableFuture<?> branch : branches) {
+            branch.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    if (all.completeExceptionally(cause)) {
+                        branches.forEach(other -> other.cancel(true));
+                    }
+                } else if (remaining.decrementAndGet() == 0) {
+                    all.complete(null);
+                }
+            });
+        }
+        return all;
+    }
+
+    /**
+     * Settings and in-flight stages shared by all stages of one pipeline.
+     */
+    private static final class Context {
+
+        private final DatabasePriority priority;
+        private final Duration timeout;
+        private final Set<CompletableFuture<?>> running = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private Context(DatabasePriority priority, Duration timeout) {
+            this.priority = priority;
+            this.timeout = timeout;
+        }
+
+        private <R> CompletableFuture<R> submit(DatabaseOperation<R> operation) {
+            if (cancelled) {
+                throw new CancellationException("The database pipeline was cancelled");
+            }
+            CompletableFuture<R> stage = DatabaseCallbackUtil.supplyAsync(operation, priority, timeout);
+            running.add(stage);
+            stage.whenComplete((result, throwable) -> running.remove(stage));
+            // cancel() may have run between the check and add
+            if (cancelled) {
+                stage.cancel(true);
+            }
+            return stage;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            for (CompletableFuture<?> stage : running) {
+                stage.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Database operation using the result of the previous stage.
+     *
+     * @param <T> The result type of the previous stage
+     * @param <R> The result type of this stage
+     */
+    @FunctionalInterface
+    public interface Stage<T, R> {
+        R apply(T value) throws Exception;
+    }
+}
@@ -0,0 +1,17 @@
+package dev.gether.getutils.database;
+
+/**
+ * Priority of a database operation, higher priorities leave the queue first.
+ */
+public enum DatabasePriority {
+    /**
+     * Operations that must not wait, e.g. saving a player on quit.
+     */
+    CRITICAL,
+    HIGH,
+    NORMAL,
+    /**
+     * Background work such as analytics or cleanup.
+     */
+    LOW
+}
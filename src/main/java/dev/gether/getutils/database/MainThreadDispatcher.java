@@ -0,0 +1,136 @@
+package dev.gether.getutils.database;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs tasks submitted from other threads on the main thread, e.g. database callbacks.
+ *
+ * <p>Instead of one scheduled task per callback, tasks are collected in a lock-free queue and drained by
+ * a single repeating task. Each tick runs tasks until {@code tickBudget} is used up (at least one task per
+ * tick), the rest wait for the next tick, so a burst of completions is spread over several ticks.</p>
+ */
+public final class MainThreadDispatcher implements Executor {
+
+    private static final Logger LOGGER = Logger.getLogger(MainThreadDispatcher.class.getName());
+
+    private final Plugin plugin;
+    @Getter private final Duration tickBudget;
+    private final long tickBudgetNanos;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile BukkitTask drainTask;
+
+    /**
+     * @param plugin The plugin owning the repeating task
+     * @param tickBudget The time the queued tasks may take per tick, 2 ms by default
+     */
+    @Builder
+    private MainThreadDispatcher(Plugin plugin, Duration tickBudget) {
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+        this.plugin = plugin;
+        this.tickBudget = tickBudget != null ? tickBudget : Duration.ofMillis(2);
+        this.tickBudgetNanos = this.tickBudget.toNanos();
+    }
+
+    /**
+     * Queues the task for the main thread. Tasks are dropped with a warning when the plugin is not enabled.
+     *
+     * @param task The task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) throw new IllegalArgumentException("Task cannot be null");
+        if (!plugin.isEnabled()) {
+            LOGGER.warning("Main thread task skipped, the plugin " + plugin.getName() + " is not enabled");
+            return;
+        }
+        tasks.add(task);
+        pending.incrementAndGet();
+        if (drainTask == null) {
+            start();
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting for the main thread
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Runs every queued task now, ignoring the tick budget. Must be called on the main thread.
+     */
+    public void drainAll() {
+        if (!Bukkit.isPrimaryThread()) throw new IllegalStateException("drainAll must be called on the main thread");
+        Runnable task;
+        while ((task = poll()) != null) {
+            run(task);
+        }
+    }
+
+    /**
+     * Runs the remaining tasks if called on the main thread and stops the repeating task.
+     */
+    public void shutdown() {
+        if (Bukkit.isPrimaryThread()) {
+            drainAll();
+        }
+        synchronized (this) {
+            if (drainTask != null) {
+                drainTask.cancel();
+                drainTask = null;
+            }
+        }
+        if (pending.get() > 0) {
+            LOGGER.warning(pending.get() + " main thread tasks were not executed before shutdown");
+        }
+    }
+
+    private synchronized void start() {
+        if (drainTask == null && plugin.isEnabled()) {
+            drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        Runnable task;
+        do {
+            task = poll();
+            if (task == null) {
+                return;
+            }
+            run(task);
+        } while (System.nanoTime() < deadline);
+    }
+
+    private Runnable poll() {
+        Runnable task = tasks.poll();
+        if (task != null) {
+            pending.decrementAndGet();
+        }
+        return task;
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error in main thread task", e);
+        }
+    }
+}
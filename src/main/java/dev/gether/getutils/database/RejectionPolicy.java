@@ -0,0 +1,16 @@
+package dev.gether.getutils.database;
+
+/**
+ * What {@link DatabaseDispatcher} does with an operation submitted while its queue is full.
+ */
+public enum RejectionPolicy {
+    /**
+     * The new operation fails with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ABORT,
+    /**
+     * The queued operation with the lowest priority fails instead, if its priority is lower
+     * than the priority of the new operation. Otherwise the new operation fails.
+     */
+    DISCARD_LOWEST
+}
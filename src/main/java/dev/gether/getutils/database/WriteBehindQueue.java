@@ -0,0 +1,254 @@
+package dev.gether.getutils.database;
+
+import dev.gether.getutils.utils.DatabaseCallbackUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keyed write-behind buffer for small, frequent updates such as stat increments or last-seen timestamps.
+ *
+ * <p>Values submitted for the same key are merged while they wait, and the pending keys are written
+ * together as one batch when {@code maxBatchSize} keys are pending or {@code maxDelay} passed since the
+ * first pending update. Batches are written one after another, so a key is never written out of order.
+ * {@link #shutdown()} (and {@link DatabaseCallbackUtil#shutdown()}) writes whatever is still pending.</p>
+ *
+ * <pre>{@code
+ * WriteBehindQueue<UUID, Integer> kills = WriteBehindQueue.<UUID, Integer>builder()
+ *         .writer(batch -> repository.addKills(batch))
+ *         .merger(Integer::sum)
+ *         .maxBatchSize(200)
+ *         .maxDelay(Duration.ofSeconds(5))
+ *         .build();
+ *
+ * kills.submit(player.getUniqueId(), 1);
+ * }</pre>
+ *
+ * @param <K> The key type, e.g. a player UUID
+ * @param <V> The pending value type
+ */
+public final class WriteBehindQueue<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindQueue.class.getName());
+    private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Set<WriteBehindQueue<?, ?>> QUEUES = ConcurrentHashMap.newKeySet();
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "getutils-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BatchWriter<K, V> writer;
+    private final BinaryOperator<V> merger;
+    @Getter private final int maxBatchSize;
+    @Getter private final Duration maxDelay;
+    private final Executor executor;
+    private final BiConsumer<Map<K, V>, Exception> errorHandler;
+    @Getter private final Duration shutdownTimeout;
+
+    private final Object lock = new Object();
+    private Map<K, V> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+    private boolean shutdown;
+
+    /**
+     * @param writer Writes one batch, e.g. as a single JDBC batch inside one transaction
+     * @param merger Merges a new value into the pending value of the same key, by default the new value replaces it
+     * @param maxBatchSize The number of pending keys that triggers a write, 100 by default
+     * @param maxDelay The longest time an update waits before it is written, 1 second by default
+     * @param executor The executor running the writes, the database executor by default
+     * @param errorHandler Receives the batches that failed to write, by default they are logged
+     * @param shutdownTimeout How long {@link #shutdown()} waits for the running writes, 10 seconds by default
+     */
+    @Builder
+    private WriteBehindQueue(BatchWriter<K, V> writer, BinaryOperator<V> merger, int maxBatchSize, Duration maxDelay,
+                             Executor executor, BiConsumer<Map<K, V>, Exception> errorHandler, Duration shutdownTimeout) {
+        if (writer == null) throw new IllegalArgumentException("Batch writer cannot be null");
+        this.writer = writer;
+        this.merger = merger != null ? merger : (oldValue, newValue) -> newValue;
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : 100;
+        this.maxDelay = maxDelay != null ? maxDelay : Duration.ofSeconds(1);
+        this.executor = executor;
+        this.errorHandler = errorHandler != null ? errorHandler
+                : (batch, e) -> LOGGER.log(Level.SEVERE, "Failed to write a batch of " + batch.size() + " updates", e);
+        this.shutdownTimeout = shutdownTimeout != null ? shutdownTimeout : DEFAULT_SHUTDOWN_TIMEOUT;
+        QUEUES.add(this);
+    }
+
+    /**
+     * Adds an update for the key, merging it with the pending update of the same key.
+     *
+     * @param key The key
+     * @param value The update
+     * @throws IllegalStateException if the queue was shut down
+     */
+    public void submit(K key, V value) {
+        boolean flushNow = false;
+        synchronized (lock) {
+            if (shutdown) throw new IllegalStateException("The write-behind queue was shut down");
+            pending.merge(key, value, merger);
+            if (pending.size() >= maxBatchSize) {
+                flushNow = true;
+            } else if (scheduledFlush == null) {
+                scheduledFlush = TIMER.schedule(this::flush, maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * @return The number of keys waiting to be written
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Writes the pending updates now.
+     *
+     * @return Future completed when this batch was written (or failed and was passed to the error handler)
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (lock) {
+            Map<K, V> batch = takePending();
+            if (batch.isEmpty()) {
+                return lastWrite;
+            }
+            Executor target = executor != null ? executor : DatabaseCallbackUtil.getExecutor();
+            // a failed or rejected write must not stop the batches queued after it
+            lastWrite = lastWrite.exceptionally(e -> null)
+                    .thenRunAsync(() -> write(batch), target)
+                    .exceptionally(e -> {
+                        handleError(batch, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                        return null;
+                    });
+            return lastWrite;
+        }
+    }
+
+    /**
+     * Stops accepting updates, waits up to {@code shutdownTimeout} for the running writes and writes
+     * the remaining updates on the calling thread.
+     */
+    public void shutdown() {
+        shutdown(shutdownTimeout);
+    }
+
+    /**
+     * Stops accepting updates, waits for the running writes and writes the remaining updates on the calling thread.
+     * If the running writes do not finish in time, the remaining updates are not written, so they cannot overtake
+     * the running write; they are passed to the error handler with a {@link TimeoutException}.
+     *
+     * @param timeout How long to wait for the running writes
+     */
+    public void shutdown(Duration timeout) {
+        CompletableFuture<Void> running;
+        synchronized (lock) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            running = lastWrite;
+        }
+        QUEUES.remove(this);
+
+        boolean finished = true;
+        try {
+            running.get(Math.max(0, timeout.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException e) {
+            LOGGER.log(Level.WARNING, "A write did not finish before shutdown", e);
+        } catch (TimeoutException e) {
+            finished = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = false;
+        }
+
+        Map<K, V> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (finished) {
+            write(batch);
+        } else {
+            handleError(batch, new TimeoutException("A write did not finish within " + timeout.toMillis() + " ms of shutdown"));
+        }
+    }
+
+    /**
+     * Shuts down every queue that was not shut down yet, waiting at most 10 seconds in total.
+     * Called by {@link DatabaseCallbackUtil#shutdown()}.
+     */
+    public static void shutdownAll() {
+        shutdownAll(DEFAULT_SHUTDOWN_TIMEOUT);
+    }
+
+    /**
+     * Shuts down every queue that was not shut down yet. Each queue waits for its running writes at most
+     * its own {@code shutdownTimeout} and at most until the total timeout runs out.
+     *
+     * @param timeout The total time to wait for the running writes of all queues
+     */
+    public static void shutdownAll(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (WriteBehindQueue<?, ?> queue : QUEUES) {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            queue.shutdown(Duration.ofNanos(Math.min(remaining, queue.shutdownTimeout.toNanos())));
+        }
+    }
+
+    private Map<K, V> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Map<K, V> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void write(Map<K, V> batch) {
+        try {
+            writer.write(batch);
+        } catch (Exception e) {
+            handleError(batch, e);
+        }
+    }
+
+    private void handleError(Map<K, V> batch, Throwable throwable) {
+        Exception exception = throwable instanceof Exception e ? e : new ExecutionException(throwable);
+        try {
+            errorHandler.accept(batch, exception);
+        } catch (Exception handlerError) {
+            LOGGER.log(Level.SEVERE, "Error in write-behind error handler", handlerError);
+        }
+    }
+
+    /**
+     * Writes a batch of coalesced updates.
+     *
+     * @param <K> The key type
+     * @param <V> The value type
+     */
+    @FunctionalInterface
+    public interface BatchWriter<K, V> {
+        void write(Map<K, V> batch) throws Exception;
+    }
+}
@@ -1,42 +1,99 @@
 package dev.gether.getutils.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.bukkit.configuration.InvalidConfigurationException;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
 import org.bukkit.inventory.ItemStack;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-
+/**
+ * Reads an ItemStack by streaming the tokens into the map structure {@link ConfigurationSerialization} expects.
+ * Maps carrying the {@code ==} type key are turned into their objects bottom-up, the same way
+ * YamlConfiguration constructs them, so the result is identical to loading the item from YAML.
+ */
 public class ItemStackDeserializer extends JsonDeserializer<ItemStack> {
 
+    private static final ObjectMapper TREE_MAPPER = new ObjectMapper();
+
     @Override
     public ItemStack deserialize(JsonParser json, DeserializationContext ctxt) throws IOException {
-        JsonNode node = json.getCodec().readTree(json);
-        Map<String, Object> itemMap = new LinkedHashMap<>();
-        itemMap.put("==", "org.bukkit.inventory.ItemStack");
-        // convert the node to map and put to itemMap
-        itemMap.putAll(jsonNodeToMap(node));
-
-        YamlConfiguration craftConfig = new YamlConfiguration();
-        craftConfig.set("_", itemMap);
+        if (!json.hasToken(JsonToken.START_OBJECT)) {
+            return (ItemStack) ctxt.handleUnexpectedToken(ItemStack.class, json);
+        }
+
+        Map<String, Object> itemMap = readObject(json, ctxt, false);
         try {
-            craftConfig.loadFromString(craftConfig.saveToString());
-        } catch (InvalidConfigurationException e) {
-            throw new RuntimeException(e);
+            return ItemStack.deserialize(itemMap);
+        } catch (IllegalArgumentException e) {
+            return (ItemStack) ctxt.handleInstantiationProblem(ItemStack.class, itemMap, e);
+        }
+    }
+
+    private Object readValue(JsonParser json, DeserializationContext ctxt) throws IOException {
+        switch (json.currentToken()) {
+            case START_OBJECT:
+                Map<String, Object> map = readObject(json, ctxt, true);
+                if (!map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) {
+                    return map;
+                }
+                try {
+                    return ConfigurationSerialization.deserializeObject(map);
+                } catch (IllegalArgumentException e) {
+                    return ctxt.handleInstantiationProblem(Object.class, map, e);
+                }
+            case START_ARRAY:
+                List<Object> list = new ArrayList<>();
+                while (json.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(json, ctxt));
+                }
+                return list;
+            case VALUE_STRING:
+                return json.getText();
+            case VALUE_NUMBER_INT:
+                return json.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return json.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            case VALUE_EMBEDDED_OBJECT:
+                return json.getEmbeddedObject();
+            default:
+                return ctxt.handleUnexpectedToken(Object.class, json);
+        }
+    }
+
+    /**
+     * Reads the object the parser points at.
+     *
+     * @param nested whether the object is a nested value, the root item keeps no "==" key
+     */
+    private Map<String, Object> readObject(JsonParser json, DeserializationContext ctxt, boolean nested) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        String key;
+        while ((key = json.nextFieldName()) != null) {
+            json.nextToken();
+            Object value = readValue(json, ctxt);
+            if (nested || !ConfigurationSerialization.SERIALIZED_TYPE_KEY.equals(key)) {
+                map.put(key, value);
+            }
         }
-        return craftConfig.getItemStack("_");
+        return map;
     }
 
     public Map<String, Object> jsonNodeToMap(JsonNode jsonNode) {
-        ObjectMapper mapper = new ObjectMapper();
-        Map<String, Object> result = mapper.convertValue(jsonNode, Map.class);
-        return result;
+        return TREE_MAPPER.convertValue(jsonNode, Map.class);
     }
-}
\ No newline at end of file
+}
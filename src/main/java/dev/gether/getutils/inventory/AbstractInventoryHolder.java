@@ -2,7 +2,6 @@ package dev.gether.getutils.inventory;
 
 import dev.gether.getutils.inventory.item.DynamicItem;
 import dev.gether.getutils.inventory.item.StaticItem;
-import dev.gether.getutils.utils.ColorFixer;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
@@ -10,22 +9,31 @@ import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @FieldDefaults(level = AccessLevel.PROTECTED)
 @Getter
 public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements InventoryHolder {
+    // true dla klas nadpisujących processPlaceholders lub setPlaceholders
+    private static final ClassValue<Boolean> CUSTOM_PLACEHOLDERS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return overrides(type, "processPlaceholders", ItemStack.class) || overrides(type, "setPlaceholders", String.class);
+        }
+    };
+
     final T plugin;
     final Player player;
     Inventory inventory;
@@ -37,6 +45,28 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
     volatile boolean closed = false;
     InventoryConfig inventoryConfig;
 
+    // Bufor renderowania - podczas refresh() itemy trafiają tutaj, a do inventory tylko zmienione sloty
+    @Getter(AccessLevel.NONE) private ItemStack[] shadow;
+    @Getter(AccessLevel.NONE) private final BitSet shadowWritten = new BitSet();
+    @Getter(AccessLevel.NONE) private boolean rendering;
+    // Sloty, których placeholdery zostaną rozwiązane po renderowaniu (InventoryConfig#asyncPlaceholders)
+    @Getter(AccessLevel.NONE) private final BitSet shadowDeferred = new BitSet();
+    @Getter(AccessLevel.NONE) private final Set<ItemStack> deferred = Collections.newSetFromMap(new IdentityHashMap<>());
+    @Getter(AccessLevel.NONE) private boolean deferPlaceholders;
+    @Getter(AccessLevel.NONE) private final AtomicBoolean asyncRenderRunning = new AtomicBoolean();
+    // Akcje ustawione podczas renderowania (także bezpośrednio przez slotActions) - trafiają do slotActions razem z itemami
+    @Getter(AccessLevel.NONE) private final Map<Integer, Consumer<InventoryClickEvent>> shadowActions = new HashMap<>();
+    // Zwiększane przy każdym renderowaniu i bezpośredniej zmianie GUI - nieaktualny wynik async jest odrzucany
+    @Getter(AccessLevel.NONE) private long generation;
+    // refresh() wywołane podczas renderowania async - zostanie powtórzone po jego zakończeniu
+    @Getter(AccessLevel.NONE) private boolean refreshPending;
+    // Wspólny szablon konfiguracji - statyczne dekoracje są zbudowane raz dla wszystkich GUI
+    @Getter(AccessLevel.NONE) private final InventoryTemplate template;
+    // true gdy inventory zawiera już statyczne sloty szablonu (np. z puli)
+    @Getter(AccessLevel.NONE) private boolean templateApplied;
+    // false gdy klasa nadpisuje processPlaceholders/setPlaceholders - wtedy wszystkie dekoracje przechodzą przez nie
+    @Getter(AccessLevel.NONE) private final boolean staticTemplate = !CUSTOM_PLACEHOLDERS.get(getClass());
+
     public AbstractInventoryHolder(T plugin, Player player, InventoryConfig inventoryConfig) {
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
             this.hookPlaceholder = true;
@@ -44,31 +74,55 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
         this.plugin = plugin;
         this.player = player;
         this.cancelClicks = inventoryConfig.isCancelClicks();
-        if(inventoryConfig.getInventoryType() == null || inventoryConfig.getInventoryType() == InventoryType.CHEST) {
-            this.inventory = Bukkit.createInventory(this, inventoryConfig.getSize(), ColorFixer.addColors(inventoryConfig.getTitle()));
+        this.template = InventoryTemplate.of(inventoryConfig);
+        if (template.isPooled()) {
+            this.inventory = template.acquire(this);
+            this.templateApplied = true;
         } else {
-            this.inventory = Bukkit.createInventory(this, inventoryConfig.getInventoryType(), ColorFixer.addColors(inventoryConfig.getTitle()));
+            this.inventory = template.createInventory(this);
         }
-        this.slotActions = new ConcurrentHashMap<>();
+        this.slotActions = new SlotActions();
         this.refreshInterval = inventoryConfig.getRefreshInterval();
         this.inventoryConfig = inventoryConfig;
     }
 
+    /**
+     * Ustawia dekoracje z konfiguracji. Dekoracje bez placeholderów PlaceholderAPI są kopiowane z gotowego
+     * szablonu, bez wywoływania {@link #processPlaceholders(ItemStack)}. Jeśli klasa nadpisuje
+     * {@link #processPlaceholders(ItemStack)} lub {@link #setPlaceholders(String)}, szablon nie jest używany
+     * i każda dekoracja przechodzi przez te metody, tak jak wcześniej.
+     */
     protected void initializeItems() {
-        if(inventoryConfig.getDecorations() != null && !inventoryConfig.getDecorations().isEmpty()) {
-            inventoryConfig.getDecorations().forEach(this::setItem);
+        if (!staticTemplate) {
+            templateApplied = false;
+            if (inventoryConfig.getDecorations() != null) {
+                inventoryConfig.getDecorations().forEach(this::setItem);
+            }
+            return;
         }
 
+        if (rendering) {
+            template.writeStaticSlots(this::writeSlot);
+        } else if (templateApplied) {
+            // Inventory z puli ma już statyczne sloty
+            templateApplied = false;
+        } else if (inventory.isEmpty()) {
+            // Nowe inventory - statyczne dekoracje kopiowane jednym setContents
+            template.applyTo(inventory);
+        } else {
+            template.writeStaticSlots(this::writeSlot);
+        }
+
+        // Dekoracje z placeholderami renderowane dla każdego gracza
+        template.getDynamicDecorations().forEach(this::setItem);
     }
 
     private void setItem(DynamicItem dynamicItem) {
         if (closed || dynamicItem == null || dynamicItem.getItem() == null) return;
         if(dynamicItem.getSlots() == null || dynamicItem.getSlots().isEmpty()) return;
 
-        ItemStack itemStack = dynamicItem.getItem().getItemStack();
-        dynamicItem.getSlots().forEach(slot -> {
-            inventory.setItem(slot, processPlaceholders(itemStack));
-        });
+        ItemStack itemStack = processPlaceholders(dynamicItem.getItem().getItemStack());
+        dynamicItem.getSlots().forEach(slot -> writeSlot(slot, itemStack));
     }
 
     /**
@@ -91,7 +145,7 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
 
     public void setItem(int slot, ItemStack item) {
         if (closed) return; // Zabezpieczenie przed operacjami na zamkniętym GUI
-        inventory.setItem(slot, processPlaceholders(item));
+        writeSlot(slot, processPlaceholders(item));
     }
 
     public void addItem(DynamicItem dynamicItem) {
@@ -99,21 +153,28 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
 
         ItemStack processedItem = processPlaceholders(dynamicItem.getProcessedItem());
         for (int slot : dynamicItem.getSlots()) {
-            inventory.setItem(slot, processedItem);
+            writeSlot(slot, processedItem);
         }
     }
 
     public void removeItem(int slot) {
         if (closed) return;
 
-        inventory.clear(slot);
+        writeSlot(slot, null);
         slotActions.remove(slot);
     }
 
     public void clearInventory() {
         if (closed) return;
 
-        inventory.clear();
+        if (rendering) {
+            Arrays.fill(shadow, null);
+            shadowWritten.set(0, shadow.length);
+            shadowDeferred.clear();
+        } else {
+            inventory.clear();
+            generation++;
+        }
         slotActions.clear();
     }
 
@@ -135,7 +196,7 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
     public void setItem(int slot, ItemStack item, Consumer<InventoryClickEvent> action) {
         if (closed) return;
 
-        inventory.setItem(slot, processPlaceholders(item));
+        writeSlot(slot, processPlaceholders(item));
         if (action != null) {
             slotActions.put(slot, action);
         }
@@ -144,7 +205,7 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
     public void setItem(StaticItem staticItem) {
         if (closed || staticItem == null || staticItem.getItem() == null || !staticItem.isEnabled()) return;
 
-        inventory.setItem(staticItem.getSlot(), processPlaceholders(staticItem.getItem().getItemStack()));
+        writeSlot(staticItem.getSlot(), processPlaceholders(staticItem.getItem().getItemStack()));
     }
 
     public void setItem(StaticItem staticItem, Consumer<InventoryClickEvent> action) {
@@ -166,10 +227,23 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
         startRefreshTask();
     }
 
+    /**
+     * Przetwarza item przed ustawieniem go w GUI. Nadpisanie tej metody wyłącza gotowy szablon
+     * statycznych dekoracji, zobacz {@link #initializeItems()}.
+     */
     protected ItemStack processPlaceholders(ItemStack item) {
         if (item == null || closed) return null;
         if (!hookPlaceholder) return item;
 
+        // Podczas odświeżania z asyncPlaceholders placeholdery są rozwiązywane po renderowaniu
+        if (deferPlaceholders) {
+            deferred.add(item);
+            return item;
+        }
+        return resolvePlaceholders(item);
+    }
+
+    private ItemStack resolvePlaceholders(ItemStack item) {
         ItemStack processedItem = item.clone();
         return Optional.ofNullable(processedItem.getItemMeta())
                 .map(meta -> {
@@ -188,6 +262,10 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
                 .orElse(processedItem);
     }
 
+    /**
+     * Ustawia placeholdery w tekście. Nadpisanie tej metody wyłącza gotowy szablon
+     * statycznych dekoracji, zobacz {@link #initializeItems()}.
+     */
     protected String setPlaceholders(String text) {
         if (closed || text == null) return text;
         if (hookPlaceholder && player != null && player.isOnline()) {
@@ -202,18 +280,34 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
         // Zatrzymaj poprzedni task jeśli istnieje
         stopRefreshTask();
 
-        refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            // Sprawdź czy GUI nie zostało zamknięte i gracz jest online
-            if (!closed && player.isOnline()) {
-                refresh();
-            } else {
-                // Automatycznie zamknij jeśli gracz się rozłączył
-                cleanup();
-            }
-        }, refreshInterval, refreshInterval);
+        // Wspólny scheduler rozkłada odświeżanie wszystkich GUI na kolejne ticki
+        GuiRefreshService refreshService = GuiRefreshService.getInstance();
+        if (refreshService != null) {
+            refreshService.register(this, refreshInterval);
+            return;
+        }
+
+        refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tickRefresh, refreshInterval, refreshInterval);
+    }
+
+    /**
+     * Pojedyncze odświeżenie wywoływane przez timer lub {@link GuiRefreshService}
+     */
+    void tickRefresh() {
+        // Sprawdź czy GUI nie zostało zamknięte i gracz jest online
+        if (!closed && player.isOnline()) {
+            refresh();
+        } else {
+            // Automatycznie zamknij jeśli gracz się rozłączył
+            cleanup();
+        }
     }
 
     protected void stopRefreshTask() {
+        GuiRefreshService refreshService = GuiRefreshService.getInstance();
+        if (refreshService != null) {
+            refreshService.unregister(this);
+        }
         if (refreshTask != null && !refreshTask.isCancelled()) {
             refreshTask.cancel();
             refreshTask = null;
@@ -233,9 +327,17 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
             slotActions.clear();
         }
 
-        // Wyczyść inventory
+        // Wyczyść inventory lub zwróć je do puli
         if (inventory != null) {
-            inventory.clear();
+            if (inventory.getHolder() instanceof PooledInventoryHolder) {
+                Inventory pooled = inventory;
+                // Gracz jest jeszcze widzem podczas InventoryCloseEvent - zwróć do puli w następnym ticku
+                if (plugin.isEnabled()) {
+                    Bukkit.getScheduler().runTask(plugin, () -> template.release(pooled));
+                }
+            } else {
+                inventory.clear();
+            }
         }
 
         // Null referencje dla GC (opcjonalne, ale pomocne)
@@ -256,12 +358,20 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
             return;
         }
 
+        // Poprzednie renderowanie async jeszcze trwa - odśwież ponownie po jego zakończeniu
+        if (asyncRenderRunning.get()) {
+            refreshPending = true;
+            return;
+        }
+
         try {
-            // Używamy bezpiecznej metody która automatycznie czyści akcje
-            safeInitializeItems();
+            // Renderuj do bufora i wyślij tylko zmienione sloty
+            boolean changed = renderChanges();
 
-            // Aktualizuj inventory gracza
-            player.updateInventory();
+            // Aktualizuj inventory gracza tylko gdy coś się zmieniło
+            if (changed && !closed) {
+                player.updateInventory();
+            }
         } catch (Exception e) {
             // Log błąd i zamknij GUI w przypadku problemów
             plugin.getLogger().warning("Error during inventory refresh: " + e.getMessage());
@@ -269,6 +379,191 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
         }
     }
 
+    /**
+     * Renderuje itemy do bufora i ustawia w inventory tylko sloty, których item się zmienił.
+     * Sloty nieustawione podczas renderowania zostają bez zmian, tak jak przy pełnym odświeżeniu.
+     *
+     * @return true jeśli jakikolwiek slot został zmieniony
+     */
+    private boolean renderChanges() {
+        int size = inventory.getSize();
+        if (shadow == null || shadow.length != size) {
+            shadow = new ItemStack[size];
+        }
+        shadowWritten.clear();
+        shadowDeferred.clear();
+        shadowActions.clear();
+        long renderGeneration = ++generation;
+
+        rendering = true;
+        deferPlaceholders = hookPlaceholder && inventoryConfig.isAsyncPlaceholders();
+        try {
+            safeInitializeItems();
+        } finally {
+            rendering = false;
+            deferPlaceholders = false;
+            deferred.clear();
+        }
+        if (closed) return false;
+
+        Map<Integer, ItemStack> rendered = new HashMap<>();
+        Map<Integer, ItemStack> asyncSlots = new HashMap<>();
+        for (int slot = shadowWritten.nextSetBit(0); slot >= 0; slot = shadowWritten.nextSetBit(slot + 1)) {
+            ItemStack item = shadow[slot];
+            shadow[slot] = null;
+            if (shadowDeferred.get(slot)) {
+                PlaceholderMode mode = placeholderMode(item);
+                if (mode == PlaceholderMode.ASYNC) {
+                    asyncSlots.put(slot, item);
+                    continue;
+                }
+                if (mode == PlaceholderMode.MAIN_THREAD) {
+                    item = resolvePlaceholders(item);
+                }
+            }
+            rendered.put(slot, item);
+        }
+        shadowWritten.clear();
+        shadowDeferred.clear();
+        Map<Integer, Consumer<InventoryClickEvent>> actions = new HashMap<>(shadowActions);
+        shadowActions.clear();
+
+        if (asyncSlots.isEmpty()) {
+            return applyRender(rendered, actions);
+        }
+        resolveAsync(renderGeneration, rendered, asyncSlots, actions);
+        return false;
+    }
+
+    /**
+     * Rozwiązuje placeholdery poza głównym wątkiem, a potem ustawia wszystkie wyrenderowane sloty
+     * i ich akcje naraz. Wynik jest odrzucany, jeśli GUI zostało w międzyczasie zmienione.
+     */
+    private void resolveAsync(long renderGeneration, Map<Integer, ItemStack> rendered, Map<Integer, ItemStack> asyncSlots,
+                              Map<Integer, Consumer<InventoryClickEvent>> actions) {
+        asyncRenderRunning.set(true);
+        try {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                // ten sam item w wielu slotach rozwiązujemy tylko raz
+                Map<ItemStack, ItemStack> resolved = new IdentityHashMap<>();
+                boolean success = true;
+                try {
+                    asyncSlots.forEach((slot, item) ->
+                            rendered.put(slot, resolved.computeIfAbsent(item, this::resolvePlaceholders)));
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Error during async placeholder resolution: " + e.getMessage());
+                    success = false;
+                }
+
+                boolean apply = success;
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    asyncRenderRunning.set(false);
+                    if (closed || !player.isOnline()) return;
+                    if (apply && renderGeneration == generation && applyRender(rendered, actions)) {
+                        player.updateInventory();
+                    }
+                    if (refreshPending) {
+                        refreshPending = false;
+                        refresh();
+                    }
+                });
+            });
+        } catch (Exception e) {
+            // np. plugin został wyłączony
+            asyncRenderRunning.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Podmienia akcje slotów na akcje z renderowania i ustawia wyrenderowane sloty
+     *
+     * @return true jeśli jakikolwiek slot został zmieniony
+     */
+    private boolean applyRender(Map<Integer, ItemStack> rendered, Map<Integer, Consumer<InventoryClickEvent>> actions) {
+        ((SlotActions) slotActions).replaceWith(actions);
+        return applySlots(rendered);
+    }
+
+    /**
+     * Ustawia w inventory tylko sloty, których item się zmienił
+     *
+     * @return true jeśli jakikolwiek slot został zmieniony
+     */
+    private boolean applySlots(Map<Integer, ItemStack> rendered) {
+        boolean changed = false;
+        for (Map.Entry<Integer, ItemStack> entry : rendered.entrySet()) {
+            int slot = entry.getKey();
+            if (!isSameItem(inventory.getItem(slot), entry.getValue())) {
+                inventory.setItem(slot, entry.getValue());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static PlaceholderMode placeholderMode(ItemStack item) {
+        ItemMeta meta = item == null ? null : item.getItemMeta();
+        if (meta == null) return PlaceholderMode.NONE;
+
+        boolean found = false;
+        List<String> texts = new ArrayList<>();
+        if (meta.hasDisplayName()) texts.add(meta.getDisplayName());
+        if (meta.hasLore() && meta.getLore() != null) texts.addAll(meta.getLore());
+        for (String text : texts) {
+            if (!ThreadSafePlaceholders.containsPlaceholders(text)) continue;
+            if (!ThreadSafePlaceholders.isThreadSafe(text)) return PlaceholderMode.MAIN_THREAD;
+            found = true;
+        }
+        return found ? PlaceholderMode.ASYNC : PlaceholderMode.NONE;
+    }
+
+    private enum PlaceholderMode {
+        // brak placeholderów - item nie wymaga klonowania
+        NONE,
+        ASYNC,
+        MAIN_THREAD
+    }
+
+    private void writeSlot(int slot, ItemStack item) {
+        if (rendering) {
+            if (slot < 0 || slot >= shadow.length) {
+                throw new IndexOutOfBoundsException("Slot " + slot + " is outside of the inventory");
+            }
+            shadow[slot] = item;
+            shadowWritten.set(slot);
+            if (deferPlaceholders && item != null && deferred.contains(item)) {
+                shadowDeferred.set(slot);
+            } else {
+                shadowDeferred.clear(slot);
+            }
+        } else {
+            inventory.setItem(slot, item);
+            generation++;
+        }
+    }
+
+    private static boolean overrides(Class<?> type, String name, Class<?> parameter) {
+        for (Class<?> current = type; current != null && current != AbstractInventoryHolder.class; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod(name, parameter);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // sprawdź klasę nadrzędną
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSameItem(ItemStack current, ItemStack rendered) {
+        boolean currentEmpty = current == null || current.getType().isAir();
+        boolean renderedEmpty = rendered == null || rendered.getType().isAir();
+        if (currentEmpty || renderedEmpty) {
+            return currentEmpty == renderedEmpty;
+        }
+        return current.equals(rendered);
+    }
+
     /**
      * Bezpieczne dodawanie akcji - automatycznie sprawdza czy GUI nie jest zamknięte
      */
@@ -287,6 +582,7 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
 
     /**
      * Metoda do manualnego odświeżenia GUI (automatycznie czyści akcje)
+     * Zawsze ustawia wszystkie sloty, bez porównywania z buforem
      */
     public void forceRefresh() {
         if (!closed) {
@@ -323,4 +619,44 @@ public abstract class AbstractInventoryHolder<T extends JavaPlugin> implements I
             }
         }, delayTicks);
     }
-}
\ No newline at end of file
+
+    /**
+     * Akcje slotów. Podczas renderowania zmiany trafiają do bufora akcji i są podmieniane razem z itemami,
+     * także gdy klasa pochodna używa slotActions bezpośrednio w initializeItems().
+     */
+    private final class SlotActions extends ConcurrentHashMap<Integer, Consumer<InventoryClickEvent>> {
+
+        @Override
+        public Consumer<InventoryClickEvent> put(Integer slot, Consumer<InventoryClickEvent> action) {
+            if (rendering) {
+                return shadowActions.put(slot, action);
+            }
+            generation++;
+            return super.put(slot, action);
+        }
+
+        @Override
+        public Consumer<InventoryClickEvent> remove(Object slot) {
+            if (rendering) {
+                return shadowActions.remove(slot);
+            }
+            generation++;
+            return super.remove(slot);
+        }
+
+        @Override
+        public void clear() {
+            if (rendering) {
+                shadowActions.clear();
+                return;
+            }
+            generation++;
+            super.clear();
+        }
+
+        private void replaceWith(Map<Integer, Consumer<InventoryClickEvent>> actions) {
+            super.clear();
+            super.putAll(actions);
+        }
+    }
+}
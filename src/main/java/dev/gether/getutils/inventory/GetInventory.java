@@ -8,7 +8,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public class GetInventory implements Listener {
@@ -26,13 +25,24 @@ public class GetInventory implements Listener {
             instance = new GetInventory();
             pluginInstance = plugin;
             plugin.getServer().getPluginManager().registerEvents(instance, plugin);
+            GuiRefreshService.initialize(plugin);
         }
     }
 
+    /**
+     * Zwraca GUI, do którego należy inventory, także dla inventory z puli (InventoryConfig#poolSize),
+     * których getHolder() zwraca PooledInventoryHolder
+     *
+     * @return GUI lub null, jeśli inventory nie jest GUI
+     */
+    public static AbstractInventoryHolder<?> getHolder(Inventory inventory) {
+        return inventory == null ? null : PooledInventoryHolder.resolve(inventory.getHolder());
+    }
+
     @EventHandler(priority = EventPriority.HIGH)
     public void onInventoryClick(InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
-        if (holder instanceof AbstractInventoryHolder abstractHolder) {
+        AbstractInventoryHolder<?> abstractHolder = getHolder(event.getInventory());
+        if (abstractHolder != null) {
             // Sprawdź czy GUI nie zostało już zamknięte
             if (abstractHolder.isClosed()) {
                 event.setCancelled(true);
@@ -56,9 +66,9 @@ public class GetInventory implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onInventoryClose(InventoryCloseEvent event) {
         Inventory inventory = event.getInventory();
-        InventoryHolder holder = inventory.getHolder();
+        AbstractInventoryHolder<?> abstractHolder = getHolder(inventory);
 
-        if (holder instanceof AbstractInventoryHolder abstractHolder) {
+        if (abstractHolder != null) {
             // Cleanup GUI - to załatwia wszystko!
             try {
                 abstractHolder.cleanup();
@@ -77,10 +87,11 @@ public class GetInventory implements Listener {
     public static void cleanup() {
         if (instance != null) {
             Bukkit.getOnlinePlayers().forEach(player ->  {
-                if(player.getOpenInventory().getTopInventory().getHolder() instanceof AbstractInventoryHolder abstractInventoryHolder) {
+                if(getHolder(player.getOpenInventory().getTopInventory()) != null) {
                     player.closeInventory();
                 }
             });
+            GuiRefreshService.cleanup();
             instance = null;
             pluginInstance = null;
         }
@@ -0,0 +1,192 @@
+package dev.gether.getutils.inventory;
+
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Refreshes all open {@link AbstractInventoryHolder}s from a single repeating task.
+ *
+ * <p>Holders are grouped by refresh interval. Within a group each holder gets the tick offset with the fewest
+ * holders, so e.g. 100 menus refreshing every 20 ticks refresh 5 per tick instead of 100 at once. A holder is
+ * refreshed for the first time at least one interval after it was registered, like a timer. Each tick
+ * refreshes holders until the time budget is used up (at least one per tick), the rest are refreshed in the
+ * next tick.</p>
+ *
+ * <p>Started by {@link GetInventory#initialize(JavaPlugin)}. Holders opened while the service is not running
+ * use their own timer.</p>
+ */
+public final class GuiRefreshService {
+
+    private static final long DEFAULT_TICK_BUDGET_NANOS = Duration.ofMillis(5).toNanos();
+
+    @Getter private static GuiRefreshService instance;
+
+    private final JavaPlugin plugin;
+    private final long tickBudgetNanos;
+    private final BukkitTask task;
+
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    private final Map<AbstractInventoryHolder<?>, Bucket> registered = new HashMap<>();
+    // holders due for a refresh, carried over to the next tick when the budget is used up
+    private final Set<AbstractInventoryHolder<?>> due = new LinkedHashSet<>();
+    private long tick;
+
+    private GuiRefreshService(JavaPlugin plugin, long tickBudgetNanos) {
+        this.plugin = plugin;
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Starts the service with a 5 ms budget per tick, if it is not running yet.
+     */
+    public static void initialize(JavaPlugin plugin) {
+        initialize(plugin, Duration.ofNanos(DEFAULT_TICK_BUDGET_NANOS));
+    }
+
+    /**
+     * Starts the service, if it is not running yet.
+     *
+     * @param plugin The plugin owning the refresh task
+     * @param tickBudget The time refreshes may take per tick
+     */
+    public static void initialize(JavaPlugin plugin, Duration tickBudget) {
+        if (instance == null) {
+            instance = new GuiRefreshService(plugin, tickBudget.toNanos());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return instance != null;
+    }
+
+    /**
+     * Stops the service, the registered holders are no longer refreshed.
+     */
+    public static void cleanup() {
+        if (instance != null) {
+            instance.task.cancel();
+            instance.buckets.clear();
+            instance.registered.clear();
+            instance.due.clear();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return The number of holders refreshed by the service
+     */
+    public int getRegisteredCount() {
+        return registered.size();
+    }
+
+    void register(AbstractInventoryHolder<?> holder, long interval) {
+        unregister(holder);
+        Bucket bucket = buckets.computeIfAbsent(interval, Bucket::new);
+        bucket.add(holder, tick);
+        registered.put(holder, bucket);
+    }
+
+    void unregister(AbstractInventoryHolder<?> holder) {
+        Bucket bucket = registered.remove(holder);
+        if (bucket != null) {
+            bucket.remove(holder);
+            if (bucket.isEmpty()) {
+                buckets.remove(bucket.interval);
+            }
+        }
+        due.remove(holder);
+    }
+
+    private void tick() {
+        tick++;
+        for (Bucket bucket : buckets.values()) {
+            bucket.collectDue(tick, due);
+        }
+        if (due.isEmpty()) return;
+
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        do {
+            AbstractInventoryHolder<?> holder = due.iterator().next();
+            due.remove(holder);
+            try {
+                // may call cleanup(), which unregisters the holder and removes it from due
+                holder.tickRefresh();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error during inventory refresh: " + e.getMessage());
+            }
+        } while (!due.isEmpty() && System.nanoTime() < deadline);
+    }
+
+    /**
+     * Holders with the same interval, grouped by tick offset. Only the offsets in use are allocated.
+     */
+    private static final class Bucket {
+
+        private final long interval;
+        // offset -> holders with the tick of their first refresh
+        private final Map<Long, Map<AbstractInventoryHolder<?>, Long>> phases = new HashMap<>();
+        private final Map<AbstractInventoryHolder<?>, Long> phaseOf = new HashMap<>();
+
+        private Bucket(long interval) {
+            this.interval = interval;
+        }
+
+        private void add(AbstractInventoryHolder<?> holder, long tick) {
+            long phase = choosePhase(tick);
+            phases.computeIfAbsent(phase, p -> new LinkedHashMap<>()).put(holder, tick + interval);
+            phaseOf.put(holder, phase);
+        }
+
+        /**
+         * Returns a free offset, preferring the one reached exactly one interval from now,
+         * or the offset with the fewest holders when all offsets are in use.
+         */
+        private long choosePhase(long tick) {
+            if (phases.size() < interval) {
+                for (long step = 0; ; step++) {
+                    long phase = (tick + step) % interval;
+                    if (!phases.containsKey(phase)) return phase;
+                }
+            }
+            long smallest = 0;
+            int smallestSize = Integer.MAX_VALUE;
+            for (Map.Entry<Long, Map<AbstractInventoryHolder<?>, Long>> entry : phases.entrySet()) {
+                if (entry.getValue().size() < smallestSize) {
+                    smallest = entry.getKey();
+                    smallestSize = entry.getValue().size();
+                }
+            }
+            return smallest;
+        }
+
+        private void remove(AbstractInventoryHolder<?> holder) {
+            Long phase = phaseOf.remove(holder);
+            if (phase == null) return;
+            Map<AbstractInventoryHolder<?>, Long> holders = phases.get(phase);
+            holders.remove(holder);
+            if (holders.isEmpty()) {
+                phases.remove(phase);
+            }
+        }
+
+        private void collectDue(long tick, Set<AbstractInventoryHolder<?>> due) {
+            Map<AbstractInventoryHolder<?>, Long> holders = phases.get(tick % interval);
+            if (holders == null) return;
+            for (Map.Entry<AbstractInventoryHolder<?>, Long> entry : holders.entrySet()) {
+                if (entry.getValue() <= tick) {
+                    due.add(entry.getKey());
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return phaseOf.isEmpty();
+        }
+    }
+}
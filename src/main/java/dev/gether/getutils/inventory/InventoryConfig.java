@@ -23,7 +23,14 @@ public class InventoryConfig {
     private String title;
     private int refreshInterval = -1;
     private boolean cancelClicks = true;
+    // placeholdery z ThreadSafePlaceholders są rozwiązywane poza głównym wątkiem podczas odświeżania
+    private boolean asyncPlaceholders;
 
     private List<DynamicItem> decorations;
+    // sloty elementów i nawigacji dla PaginatedInventoryHolder
+    private PaginationConfig pagination;
+    // ile zamkniętych inventory trzymać do ponownego użycia, 0 - bez puli (tylko dla GUI bez treści per gracz)
+    // Uwaga: przy puli inventory.getHolder() zwraca PooledInventoryHolder, a nie GUI - użyj GetInventory#getHolder(Inventory)
+    private int poolSize;
 
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package dev.gether.getutils.inventory;
+
+import dev.gether.getutils.inventory.item.DynamicItem;
+import dev.gether.getutils.utils.ColorFixer;
+import org.bukkit.Bukkit;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Pre-rendered contents of an {@link InventoryConfig}, shared by every GUI opened from it.
+ *
+ * <p>Decorations without PlaceholderAPI placeholders are built once into a contents array, which is copied
+ * into new inventories with a single {@link Inventory#setContents(ItemStack[])}. Decorations with
+ * placeholders are still rendered per player. The template is rebuilt when the decorations of the config
+ * or their items change. Holders overriding {@code processPlaceholders} or {@code setPlaceholders} do not
+ * use the pre-rendered contents, all decorations still go through their overrides.</p>
+ *
+ * <p>With {@link InventoryConfig#getPoolSize()} above 0, closed inventories are reset to the template and
+ * reused by the next GUI, instead of creating a new inventory for every opening. This is meant for menus
+ * without per-player content.</p>
+ */
+public final class InventoryTemplate {
+
+    private static final Map<InventoryConfig, InventoryTemplate> TEMPLATES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final InventoryType inventoryType;
+    private final int size;
+    private final String title;
+    private final int poolSize;
+
+    private final ItemStack[] contents;
+    private final BitSet staticSlots = new BitSet();
+    private final List<DynamicItem> dynamicDecorations = new ArrayList<>();
+
+    // the config state the template was built from
+    private final List<DynamicItem> decorations;
+    private final List<Snapshot> snapshots = new ArrayList<>();
+
+    private final Deque<Inventory> pool = new ArrayDeque<>();
+
+    private InventoryTemplate(InventoryConfig config) {
+        this.inventoryType = config.getInventoryType() == null ? InventoryType.CHEST : config.getInventoryType();
+        this.size = inventoryType == InventoryType.CHEST ? config.getSize() : inventoryType.getDefaultSize();
+        this.title = ColorFixer.addColors(config.getTitle());
+        this.poolSize = config.getPoolSize();
+        this.contents = new ItemStack[size];
+        this.decorations = config.getDecorations();
+
+        if (decorations == null) return;
+        for (DynamicItem decoration : decorations) {
+            if (decoration == null || decoration.getItem() == null) continue;
+            snapshots.add(new Snapshot(decoration));
+            if (decoration.getSlots() == null || decoration.getSlots().isEmpty()) continue;
+
+            ItemStack itemStack = decoration.getItem().getItemStack();
+            if (hasPlaceholders(itemStack)) {
+                dynamicDecorations.add(decoration);
+                continue;
+            }
+            for (int slot : decoration.getSlots()) {
+                if (slot >= 0 && slot < size) {
+                    contents[slot] = itemStack;
+                    staticSlots.set(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the template of the config, building it first if the config has no template yet
+     * or its decorations changed.
+     */
+    public static InventoryTemplate of(InventoryConfig config) {
+        if (config == null) throw new IllegalArgumentException("Inventory config cannot be null");
+        InventoryTemplate template = TEMPLATES.get(config);
+        if (template == null || !template.matches(config)) {
+            template = new InventoryTemplate(config);
+            TEMPLATES.put(config, template);
+        }
+        return template;
+    }
+
+    /**
+     * Drops the template and the pooled inventories of the config, e.g. after a reload.
+     */
+    public static void invalidate(InventoryConfig config) {
+        TEMPLATES.remove(config);
+    }
+
+    /**
+     * Creates a new, empty inventory with the type, size and title of the config.
+     */
+    Inventory createInventory(InventoryHolder holder) {
+        return inventoryType == InventoryType.CHEST
+                ? Bukkit.createInventory(holder, size, title)
+                : Bukkit.createInventory(holder, inventoryType, title);
+    }
+
+    /**
+     * Takes a pooled inventory with the template contents, or creates a new one.
+     */
+    Inventory acquire(AbstractInventoryHolder<?> holder) {
+        Inventory inventory;
+        synchronized (pool) {
+            inventory = pool.poll();
+        }
+        if (inventory == null) {
+            PooledInventoryHolder pooledHolder = new PooledInventoryHolder();
+            inventory = createInventory(pooledHolder);
+            pooledHolder.setInventory(inventory);
+            applyTo(inventory);
+        }
+        ((PooledInventoryHolder) inventory.getHolder()).bind(holder);
+        return inventory;
+    }
+
+    /**
+     * Resets the inventory to the template contents and returns it to the pool.
+     * Inventories still viewed by a player are not pooled.
+     */
+    void release(Inventory inventory) {
+        if (!(inventory.getHolder() instanceof PooledInventoryHolder pooledHolder)) return;
+        if (!inventory.getViewers().isEmpty()) return;
+
+        pooledHolder.unbind();
+        applyTo(inventory);
+        synchronized (pool) {
+            if (pool.size() < poolSize) {
+                pool.push(inventory);
+            }
+        }
+    }
+
+    boolean isPooled() {
+        return poolSize > 0;
+    }
+
+    /**
+     * Replaces all contents of the inventory with the template contents.
+     */
+    void applyTo(Inventory inventory) {
+        inventory.setContents(contents.clone());
+    }
+
+    /**
+     * Writes the static slots one by one, for inventories that already have other contents.
+     */
+    void writeStaticSlots(BiConsumer<Integer, ItemStack> writer) {
+        for (int slot = staticSlots.nextSetBit(0); slot >= 0; slot = staticSlots.nextSetBit(slot + 1)) {
+            writer.accept(slot, contents[slot]);
+        }
+    }
+
+    List<DynamicItem> getDynamicDecorations() {
+        return dynamicDecorations;
+    }
+
+    private boolean matches(InventoryConfig config) {
+        if (config.getDecorations() != decorations || config.getPoolSize() != poolSize) return false;
+        if (decorations == null) return true;
+
+        int index = 0;
+        for (DynamicItem decoration : decorations) {
+            if (decoration == null || decoration.getItem() == null) continue;
+            if (index >= snapshots.size() || !snapshots.get(index++).matches(decoration)) return false;
+        }
+        return index == snapshots.size();
+    }
+
+    private static boolean hasPlaceholders(ItemStack itemStack) {
+        ItemMeta meta = itemStack == null ? null : itemStack.getItemMeta();
+        if (meta == null) return false;
+        if (meta.hasDisplayName() && ThreadSafePlaceholders.containsPlaceholders(meta.getDisplayName())) return true;
+        if (meta.hasLore() && meta.getLore() != null) {
+            for (String line : meta.getLore()) {
+                if (ThreadSafePlaceholders.containsPlaceholders(line)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decoration values the template was built from.
+     */
+    private static final class Snapshot {
+
+        private final DynamicItem decoration;
+        private final ItemStack source;
+        private final List<Integer> slots;
+
+        private Snapshot(DynamicItem decoration) {
+            this.decoration = decoration;
+            this.source = decoration.getItem().getSharedItemStack();
+            this.slots = decoration.getSlots() == null ? null : new ArrayList<>(decoration.getSlots());
+        }
+
+        private boolean matches(DynamicItem current) {
+            return current == decoration
+                    && current.getItem().getSharedItemStack() == source
+                    && Objects.equals(current.getSlots(), slots);
+        }
+    }
+}
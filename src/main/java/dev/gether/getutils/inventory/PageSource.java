@@ -0,0 +1,79 @@
+package dev.gether.getutils.inventory;
+
+import dev.gether.getutils.database.DatabasePriority;
+import dev.gether.getutils.utils.DatabaseCallbackUtil;
+import dev.gether.getutils.utils.DatabaseCallbackUtil.DatabaseOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entries shown by a {@link PaginatedInventoryHolder}, loaded one page at a time.
+ *
+ * @param <E> The entry type
+ */
+@FunctionalInterface
+public interface PageSource<E> {
+
+    /**
+     * Loads the entries {@code [offset, offset + limit)}.
+     *
+     * @param offset The index of the first entry
+     * @param limit The maximum number of entries
+     * @return Future of the entries together with the total number of entries
+     */
+    CompletableFuture<Page<E>> load(int offset, int limit);
+
+    /**
+     * Source backed by a list, pages are sub lists of it.
+     *
+     * @param <E> The entry type
+     * @param entries The entries, changes are visible after {@link PaginatedInventoryHolder#invalidatePages()}
+     * @return The source
+     */
+    static <E> PageSource<E> of(List<E> entries) {
+        if (entries == null) throw new IllegalArgumentException("Entries cannot be null");
+        return (offset, limit) -> {
+            int size = entries.size();
+            int from = Math.min(offset, size);
+            int to = Math.min(offset + limit, size);
+            return CompletableFuture.completedFuture(new Page<>(new ArrayList<>(entries.subList(from, to)), size));
+        };
+    }
+
+    /**
+     * Source querying the database for every page, e.g. with {@code LIMIT ? OFFSET ?} and {@code COUNT(*)}.
+     * Both operations run on the database dispatcher with {@link DatabasePriority#HIGH} priority.
+     *
+     * @param <E> The entry type
+     * @param count Returns the total number of entries
+     * @param loader Loads a range of entries
+     * @return The source
+     */
+    static <E> PageSource<E> database(DatabaseOperation<Integer> count, RangeLoader<E> loader) {
+        if (count == null || loader == null) throw new IllegalArgumentException("Count and loader cannot be null");
+        return (offset, limit) -> DatabaseCallbackUtil.pipeline(count, DatabasePriority.HIGH, null)
+                .<Page<E>>thenAsync(total -> new Page<>(offset < total ? loader.load(offset, limit) : List.<E>of(), total))
+                .toFuture();
+    }
+
+    /**
+     * Entries of one page.
+     *
+     * @param entries The entries of the page
+     * @param totalCount The number of entries of all pages
+     */
+    record Page<E>(List<E> entries, int totalCount) {
+    }
+
+    /**
+     * Loads a range of entries from the database.
+     *
+     * @param <E> The entry type
+     */
+    @FunctionalInterface
+    interface RangeLoader<E> {
+        List<E> load(int offset, int limit) throws Exception;
+    }
+}
@@ -0,0 +1,228 @@
+package dev.gether.getutils.inventory;
+
+import dev.gether.getutils.inventory.item.StaticItem;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * GUI listing entries from a {@link PageSource}, one page at a time.
+ *
+ * <p>Only the visible page is rendered when the GUI opens. The neighbouring pages are loaded and rendered
+ * in the background, and the last {@link PaginationConfig#getPageCacheSize()} rendered pages are kept, so
+ * switching pages usually needs no loading. Entry slots and navigation items come from
+ * {@link InventoryConfig#getPagination()}.</p>
+ *
+ * <p>The renderer runs on the thread that loaded the page, for prefetched pages that is not the main
+ * thread, so it should only build items and not touch the world.</p>
+ *
+ * @param <T> The plugin type
+ * @param <E> The entry type
+ */
+@FieldDefaults(level = AccessLevel.PROTECTED)
+@Getter
+public abstract class PaginatedInventoryHolder<T extends JavaPlugin, E> extends AbstractInventoryHolder<T> {
+
+    final PageSource<E> source;
+    final Function<E, ItemStack> renderer;
+    final PaginationConfig pagination;
+    final List<Integer> itemSlots;
+    int page;
+    // -1 dopóki pierwsza strona nie zostanie załadowana
+    volatile int totalCount = -1;
+
+    @Getter(AccessLevel.NONE) private final Map<Integer, CompletableFuture<RenderedPage<E>>> pages;
+    @Getter(AccessLevel.NONE) private final Executor backgroundExecutor;
+    // ładowanie, po którym GUI zostanie odświeżone - callback rejestrowany raz na ładowanie
+    @Getter(AccessLevel.NONE) private CompletableFuture<RenderedPage<E>> awaitedLoad;
+    // strona, której ładowanie się nie powiodło - odświeżenie po błędzie nie ładuje jej od razu ponownie
+    @Getter(AccessLevel.NONE) private int failedPage = -1;
+
+    public PaginatedInventoryHolder(T plugin, Player player, InventoryConfig inventoryConfig,
+                                    PageSource<E> source, Function<E, ItemStack> renderer) {
+        super(plugin, player, inventoryConfig);
+        if (source == null) throw new IllegalArgumentException("Page source cannot be null");
+        if (renderer == null) throw new IllegalArgumentException("Renderer cannot be null");
+        if (inventoryConfig.getPagination() == null || inventoryConfig.getPagination().getItemSlots() == null
+                || inventoryConfig.getPagination().getItemSlots().isEmpty()) {
+            throw new IllegalArgumentException("Pagination item slots cannot be empty");
+        }
+
+        this.source = source;
+        this.renderer = renderer;
+        this.pagination = inventoryConfig.getPagination();
+        this.itemSlots = List.copyOf(pagination.getItemSlots());
+        int cacheSize = Math.max(3, pagination.getPageCacheSize());
+        this.pages = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<RenderedPage<E>>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.backgroundExecutor = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    /**
+     * Wywoływane po kliknięciu elementu strony
+     */
+    protected void onEntryClick(InventoryClickEvent event, E entry) {
+    }
+
+    @Override
+    protected void initializeItems() {
+        super.initializeItems();
+
+        int current = page;
+        if (failedPage == current) {
+            // Ładowanie się nie powiodło - sloty zostają puste, kolejne initializeItems spróbuje ponownie
+            failedPage = -1;
+            for (int slot : itemSlots) {
+                setItem(slot, null);
+            }
+            setNavigationItems(current);
+            return;
+        }
+
+        CompletableFuture<RenderedPage<E>> loading = loadPage(current);
+        RenderedPage<E> rendered = loading.getNow(null);
+        if (rendered == null) {
+            // Strona jeszcze się ładuje - sloty elementów zostają puste do czasu załadowania
+            for (int slot : itemSlots) {
+                setItem(slot, null);
+            }
+            // Odśwież GUI po załadowaniu, także po błędzie
+            if (loading != awaitedLoad) {
+                awaitedLoad = loading;
+                loading.whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (!closed && page == current) {
+                        if (throwable != null) {
+                            failedPage = current;
+                        }
+                        refresh();
+                    }
+                }));
+            }
+        } else {
+            totalCount = rendered.totalCount();
+            for (int i = 0; i < itemSlots.size(); i++) {
+                int slot = itemSlots.get(i);
+                if (i < rendered.items().size()) {
+                    E entry = rendered.entries().get(i);
+                    setItem(slot, rendered.items().get(i), event -> onEntryClick(event, entry));
+                } else {
+                    setItem(slot, null);
+                }
+            }
+        }
+
+        setNavigationItems(current);
+        prefetch(current - 1);
+        prefetch(current + 1);
+    }
+
+    private void setNavigationItems(int current) {
+        setNavigationItem(pagination.getPreviousPage(), current > 0, current - 1);
+        setNavigationItem(pagination.getNextPage(), current + 1 < getPageCount(), current + 1);
+    }
+
+    private void setNavigationItem(StaticItem navigation, boolean visible, int target) {
+        if (navigation == null || !navigation.isEnabled()) return;
+        if (visible) {
+            setItem(navigation, event -> setPage(target));
+        } else {
+            setItem(navigation.getSlot(), null);
+        }
+    }
+
+    /**
+     * Przechodzi na podaną stronę (liczoną od 0)
+     */
+    public void setPage(int page) {
+        if (closed) return;
+        int pageCount = getPageCount();
+        int target = Math.max(0, pageCount > 0 ? Math.min(page, pageCount - 1) : page);
+        if (target == this.page) return;
+
+        this.page = target;
+        refresh();
+    }
+
+    public void nextPage() {
+        setPage(page + 1);
+    }
+
+    public void previousPage() {
+        setPage(page - 1);
+    }
+
+    /**
+     * @return Liczba stron, 0 dopóki pierwsza strona nie zostanie załadowana
+     */
+    public int getPageCount() {
+        int total = totalCount;
+        return total <= 0 ? (total == 0 ? 1 : 0) : (total + itemSlots.size() - 1) / itemSlots.size();
+    }
+
+    /**
+     * Usuwa zapamiętane strony, np. po zmianie danych źródła, i odświeża GUI
+     */
+    public void invalidatePages() {
+        pages.clear();
+        if (!closed) {
+            refresh();
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+        pages.clear();
+    }
+
+    private void prefetch(int index) {
+        if (index < 0 || (totalCount >= 0 && index >= getPageCount())) return;
+        if (pages.containsKey(index)) return;
+        // ładowanie i renderowanie sąsiedniej strony w tle
+        CompletableFuture.runAsync(() -> loadPage(index), backgroundExecutor);
+    }
+
+    private CompletableFuture<RenderedPage<E>> loadPage(int index) {
+        synchronized (pages) {
+            CompletableFuture<RenderedPage<E>> cached = pages.get(index);
+            if (cached != null) return cached;
+
+            int perPage = itemSlots.size();
+            CompletableFuture<RenderedPage<E>> loading = source.load(index * perPage, perPage).thenApply(this::render);
+            pages.put(index, loading);
+            // nieudane ładowanie nie zostaje w pamięci
+            loading.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    pages.remove(index, loading);
+                    plugin.getLogger().warning("Error loading page " + index + ": " + throwable.getMessage());
+                }
+            });
+            return loading;
+        }
+    }
+
+    private RenderedPage<E> render(PageSource.Page<E> loaded) {
+        List<ItemStack> items = new ArrayList<>(loaded.entries().size());
+        for (E entry : loaded.entries()) {
+            items.add(renderer.apply(entry));
+        }
+        return new RenderedPage<>(loaded.entries(), items, loaded.totalCount());
+    }
+
+    private record RenderedPage<E>(List<E> entries, List<ItemStack> items, int totalCount) {
+    }
+}
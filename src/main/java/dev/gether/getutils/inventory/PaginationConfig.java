@@ -0,0 +1,22 @@
+package dev.gether.getutils.inventory;
+
+import dev.gether.getutils.inventory.item.StaticItem;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PaginationConfig {
+
+    // sloty, w których wyświetlane są elementy strony
+    private List<Integer> itemSlots;
+    private StaticItem previousPage;
+    private StaticItem nextPage;
+    // ile wyrenderowanych stron trzymać w pamięci
+    private int pageCacheSize = 5;
+
+}
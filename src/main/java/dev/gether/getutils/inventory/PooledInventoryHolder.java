@@ -0,0 +1,56 @@
+package dev.gether.getutils.inventory;
+
+import lombok.Getter;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Holder of a pooled inventory. The inventory is created once and reused by consecutive
+ * {@link AbstractInventoryHolder}s, this holder points to the one currently using it.
+ *
+ * <p>With {@link InventoryConfig#getPoolSize()} above 0, {@code inventory.getHolder()} of a GUI returns this
+ * holder instead of the {@link AbstractInventoryHolder}, so {@code instanceof} checks against the GUI class
+ * fail. Use {@link GetInventory#getHolder(org.bukkit.inventory.Inventory)} to find the GUI of an inventory.</p>
+ */
+public final class PooledInventoryHolder implements InventoryHolder {
+
+    private Inventory inventory;
+    @Getter private volatile AbstractInventoryHolder<?> boundHolder;
+
+    PooledInventoryHolder() {
+    }
+
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    void bind(AbstractInventoryHolder<?> holder) {
+        this.boundHolder = holder;
+    }
+
+    void unbind() {
+        this.boundHolder = null;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Returns the GUI holder of an inventory, also for pooled inventories.
+     * See {@link GetInventory#getHolder(Inventory)} for a lookup by inventory.
+     *
+     * @param holder The holder of the inventory
+     * @return The GUI holder, or null if the inventory is not a GUI
+     */
+    public static AbstractInventoryHolder<?> resolve(InventoryHolder holder) {
+        if (holder instanceof AbstractInventoryHolder<?> abstractHolder) {
+            return abstractHolder;
+        }
+        if (holder instanceof PooledInventoryHolder pooled) {
+            return pooled.boundHolder;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package dev.gether.getutils.inventory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of PlaceholderAPI expansions that may be resolved off the main thread.
+ *
+ * <p>GUIs with {@link InventoryConfig#isAsyncPlaceholders()} resolve the text of an item asynchronously
+ * only if every {@code %identifier_params%} placeholder in it belongs to a registered expansion, e.g.
+ * expansions reading from caches. Everything else is still resolved on the main thread.</p>
+ *
+ * <pre>{@code
+ * ThreadSafePlaceholders.register("myplugin");
+ * }</pre>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ThreadSafePlaceholders {
+
+    private static final Set<String> IDENTIFIERS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Marks the expansion as safe to resolve off the main thread.
+     *
+     * @param identifier The identifier of the expansion, the part before the first {@code _}
+     */
+    public static void register(String identifier) {
+        if (identifier == null) throw new IllegalArgumentException("Identifier cannot be null");
+        IDENTIFIERS.add(identifier.toLowerCase(Locale.ROOT));
+    }
+
+    public static void unregister(String identifier) {
+        if (identifier == null) return;
+        IDENTIFIERS.remove(identifier.toLowerCase(Locale.ROOT));
+    }
+
+    public static boolean isRegistered(String identifier) {
+        return identifier != null && IDENTIFIERS.contains(identifier.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param text The text to check
+     * @return true if the text contains at least one {@code %identifier_params%} placeholder
+     */
+    public static boolean containsPlaceholders(String text) {
+        if (text == null) return false;
+        int start = text.indexOf('%');
+        return start >= 0 && text.indexOf('%', start + 1) > start + 1;
+    }
+
+    /**
+     * @param text The text to check
+     * @return true if every placeholder in the text belongs to a registered expansion
+     */
+    public static boolean isThreadSafe(String text) {
+        if (text == null) return true;
+        int start = text.indexOf('%');
+        while (start >= 0) {
+            int end = text.indexOf('%', start + 1);
+            if (end < 0) break;
+            String placeholder = text.substring(start + 1, end);
+            int separator = placeholder.indexOf('_');
+            String identifier = separator < 0 ? placeholder : placeholder.substring(0, separator);
+            if (!identifier.isEmpty() && !isRegistered(identifier)) {
+                return false;
+            }
+            start = text.indexOf('%', end + 1);
+        }
+        return true;
+    }
+}
@@ -5,7 +5,6 @@ import dev.gether.getutils.models.Item;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -52,67 +51,26 @@ public class DynamicItem {
         placeholders.remove(key);
     }
 
+    /**
+     * Zwraca item z podstawionymi placeholderami.
+     * Wywoływane są tylko placeholdery użyte w nazwie lub lore, a gdy ich wartości się nie zmieniły,
+     * zwracana jest ta sama, zbuforowana instancja - nie należy jej modyfikować.
+     */
     @JsonIgnore
     public ItemStack getProcessedItem() {
         if (disposed || item == null) return null;
 
         try {
-            ItemStack processedItem = item.getItemStack();
-            if (processedItem == null) return null;
-
-            ItemMeta meta = processedItem.getItemMeta();
-            if (meta != null) {
-                if (meta.hasDisplayName()) {
-                    meta.setDisplayName(replacePlaceholders(meta.getDisplayName()));
-                }
-                if (meta.hasLore()) {
-                    List<String> lore = meta.getLore();
-                    if (lore != null) {
-                        List<String> newLore = new ArrayList<>();
-                        for (String line : lore) {
-                            newLore.add(replacePlaceholders(line));
-                        }
-                        meta.setLore(newLore);
-                    }
-                }
-                processedItem.setItemMeta(meta);
-            }
-            return processedItem;
+            ItemStack source = item.getSharedItemStack();
+            if (source == null) return null;
+
+            return ProcessedItem.get(this, source, placeholders);
         } catch (Exception e) {
             // Zwróć podstawowy item w przypadku błędu
             return item != null ? item.getItemStack() : null;
         }
     }
 
-    @JsonIgnore
-    private String replacePlaceholders(String text) {
-        if (disposed || text == null || placeholders == null || placeholders.isEmpty()) {
-            return text;
-        }
-
-        String result = text;
-        try {
-            for (Map.Entry<String, Supplier<String>> entry : placeholders.entrySet()) {
-                if (entry.getKey() != null && entry.getValue() != null) {
-                    String placeholder = "{" + entry.getKey() + "}";
-                    try {
-                        String value = entry.getValue().get();
-                        if (value != null) {
-                            result = result.replace(placeholder, value);
-                        }
-                    } catch (Exception e) {
-                        // Ignoruj błędy pojedynczych placeholderów
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // W przypadku błędu zwróć oryginalny tekst
-            return text;
-        }
-
-        return result;
-    }
-
     /**
      * Czyści wszystkie referencje - zapobiega memory leakom
      */
@@ -120,6 +78,7 @@ public class DynamicItem {
         if (disposed) return;
 
         disposed = true;
+        ProcessedItem.invalidate(this);
 
         // Wyczyść placeholdery
         if (placeholders != null) {
@@ -0,0 +1,185 @@
+package dev.gether.getutils.inventory.item;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Processed stack of a {@link DynamicItem}, together with the parsed {@code {key}} tokens of the name
+ * and lore and the placeholder values it was rendered with.
+ *
+ * <p>The tokens are parsed once per source stack, so only the suppliers of placeholders that appear in
+ * the item are evaluated. The stack is rendered again only when one of those values changed.</p>
+ */
+final class ProcessedItem {
+
+    private static final Map<DynamicItem, ProcessedItem> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ItemStack source;
+    // null when the item has no display name, or the name has no tokens
+    private final Line name;
+    // null when the item has no lore, or the lore has no tokens
+    private final List<Line> lore;
+    private final String[] keys;
+
+    private String[] values;
+    private ItemStack processed;
+
+    private ProcessedItem(ItemStack source) {
+        this.source = source;
+        Set<String> usedKeys = new LinkedHashSet<>();
+        ItemMeta meta = source.getItemMeta();
+
+        Line parsedName = meta != null && meta.hasDisplayName() ? Line.parse(meta.getDisplayName(), usedKeys) : null;
+        this.name = parsedName != null && parsedName.hasTokens() ? parsedName : null;
+
+        List<Line> parsedLore = null;
+        if (meta != null && meta.hasLore() && meta.getLore() != null) {
+            parsedLore = new ArrayList<>();
+            boolean tokens = false;
+            for (String line : meta.getLore()) {
+                Line parsed = Line.parse(line, usedKeys);
+                tokens |= parsed.hasTokens();
+                parsedLore.add(parsed);
+            }
+            if (!tokens) {
+                parsedLore = null;
+            }
+        }
+        this.lore = parsedLore;
+        this.keys = usedKeys.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the processed stack of the item, rendering it only if the source stack
+     * or the value of a used placeholder changed.
+     */
+    static ItemStack get(DynamicItem dynamicItem, ItemStack source, Map<String, Supplier<String>> placeholders) {
+        ProcessedItem cached = CACHE.get(dynamicItem);
+        if (cached == null || cached.source != source) {
+            cached = new ProcessedItem(source);
+            CACHE.put(dynamicItem, cached);
+        }
+        synchronized (cached) {
+            return cached.render(placeholders);
+        }
+    }
+
+    static void invalidate(DynamicItem dynamicItem) {
+        CACHE.remove(dynamicItem);
+    }
+
+    private ItemStack render(Map<String, Supplier<String>> placeholders) {
+        String[] current = evaluate(placeholders);
+        if (processed != null && Arrays.equals(values, current)) {
+            return processed;
+        }
+
+        ItemStack itemStack = source.clone();
+        if (name != null || lore != null) {
+            Map<String, String> resolved = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                if (current[i] != null) {
+                    resolved.put(keys[i], current[i]);
+                }
+            }
+
+            ItemMeta meta = itemStack.getItemMeta();
+            if (name != null) {
+                meta.setDisplayName(name.render(resolved));
+            }
+            if (lore != null) {
+                List<String> newLore = new ArrayList<>(lore.size());
+                for (Line line : lore) {
+                    newLore.add(line.render(resolved));
+                }
+                meta.setLore(newLore);
+            }
+            itemStack.setItemMeta(meta);
+        }
+
+        values = current;
+        processed = itemStack;
+        return itemStack;
+    }
+
+    private String[] evaluate(Map<String, Supplier<String>> placeholders) {
+        String[] current = new String[keys.length];
+        if (placeholders == null || placeholders.isEmpty()) {
+            return current;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            Supplier<String> supplier = placeholders.get(keys[i]);
+            if (supplier == null) continue;
+            try {
+                current[i] = supplier.get();
+            } catch (Exception e) {
+                // Ignoruj błędy pojedynczych placeholderów
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Text split into literal parts and {@code {key}} tokens.
+     */
+    private static final class Line {
+
+        private final String text;
+        // literal parts at even indexes, keys at odd indexes
+        private final String[] parts;
+
+        private Line(String text, String[] parts) {
+            this.text = text;
+            this.parts = parts;
+        }
+
+        private static Line parse(String text, Set<String> usedKeys) {
+            List<String> parts = new ArrayList<>();
+            int literalStart = 0;
+            int open = text.indexOf('{');
+            while (open >= 0) {
+                int close = text.indexOf('}', open + 1);
+                if (close < 0) break;
+                // "{a{b}" - the token starts at the last brace before the closing one
+                int tokenStart = text.lastIndexOf('{', close);
+                if (close > tokenStart + 1) {
+                    String key = text.substring(tokenStart + 1, close);
+                    parts.add(text.substring(literalStart, tokenStart));
+                    parts.add(key);
+                    usedKeys.add(key);
+                    literalStart = close + 1;
+                }
+                open = text.indexOf('{', close + 1);
+            }
+            if (parts.isEmpty()) {
+                return new Line(text, null);
+            }
+            parts.add(text.substring(literalStart));
+            return new Line(text, parts.toArray(new String[0]));
+        }
+
+        private boolean hasTokens() {
+            return parts != null;
+        }
+
+        private String render(Map<String, String> values) {
+            if (parts == null) {
+                return text;
+            }
+            StringBuilder builder = new StringBuilder(text.length() + 16);
+            for (int i = 0; i < parts.length; i++) {
+                if ((i & 1) == 0) {
+                    builder.append(parts[i]);
+                } else {
+                    String value = values.get(parts[i]);
+                    // tokens without a value stay in the text, as before
+                    builder.append(value != null ? value : "{" + parts[i] + "}");
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -51,8 +51,42 @@ public class Item {
     String potionHexColor;  // For potion colors
     String fireworkHexColor; // For firework colors
 
+    /**
+     * Returns a copy of the item stack described by this item.
+     * The stack is built once and cached, it is rebuilt only after a field of this item changes.
+     *
+     * @return A new clone of the cached item stack
+     */
     @JsonIgnore
     public ItemStack getItemStack() {
+        return ItemTemplate.itemStack(this);
+    }
+
+    /**
+     * Returns the cached item stack itself. It is replaced by a new instance whenever it is rebuilt,
+     * so callers can cache values derived from it by identity. The stack must not be modified.
+     *
+     * @return The cached item stack
+     */
+    @JsonIgnore
+    public ItemStack getSharedItemStack() {
+        return ItemTemplate.sharedItemStack(this);
+    }
+
+    /**
+     * Drops the cached item stack, so the next {@link #getItemStack()} builds it again.
+     */
+    public void invalidate() {
+        ItemTemplate.invalidate(this);
+    }
+
+    /**
+     * Builds a new item stack without using the cache.
+     *
+     * @return The built item stack
+     */
+    @JsonIgnore
+    public ItemStack buildItemStack() {
         ItemStackBuilder builder = ItemStackBuilder
                 .of(material)
                 .amount(amount)
@@ -0,0 +1,122 @@
+package dev.gether.getutils.models;
+
+import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionType;
+
+import java.util.*;
+
+/**
+ * Built {@link ItemStack} of an {@link Item} together with a copy of the values it was built from.
+ * The stack itself is only handed out through {@link Item#getSharedItemStack()}, other callers get a clone.
+ */
+final class ItemTemplate {
+
+    private static final Map<Item, ItemTemplate> TEMPLATES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ItemStack itemStack;
+
+    private final int amount;
+    private final Material material;
+    private final String name;
+    private final List<String> lore;
+    private final String base64;
+    private final Map<Enchantment, Integer> enchantments;
+    private final boolean unbreakable;
+    private final boolean glow;
+    private final int modelData;
+    private final Map<Attribute, List<AttributeModifier>> attributeModifiers;
+    private final List<ItemFlag> itemFlags;
+    private final PotionType potionType;
+    private final boolean extended;
+    private final boolean upgraded;
+    private final String hexColor;
+    private final String potionHexColor;
+    private final String fireworkHexColor;
+
+    private ItemTemplate(Item item, ItemStack itemStack) {
+        this.itemStack = itemStack;
+        this.amount = item.getAmount();
+        this.material = item.getMaterial();
+        this.name = item.getName();
+        this.lore = copy(item.getLore());
+        this.base64 = item.getBase64();
+        this.enchantments = item.getEnchantments() == null ? null : new HashMap<>(item.getEnchantments());
+        this.unbreakable = item.isUnbreakable();
+        this.glow = item.isGlow();
+        this.modelData = item.getModelData();
+        this.attributeModifiers = copy(item.getAttributeModifiers());
+        this.itemFlags = copy(item.getItemFlags());
+        this.potionType = item.getPotionType();
+        this.extended = item.isExtended();
+        this.upgraded = item.isUpgraded();
+        this.hexColor = item.getHexColor();
+        this.potionHexColor = item.getPotionHexColor();
+        this.fireworkHexColor = item.getFireworkHexColor();
+    }
+
+    /**
+     * Returns a clone of the cached stack of the item, building it first if the item
+     * has no template yet or any of its fields changed since the template was built.
+     */
+    static ItemStack itemStack(Item item) {
+        return template(item).itemStack.clone();
+    }
+
+    /**
+     * Returns the cached stack itself, a new instance after every rebuild.
+     */
+    static ItemStack sharedItemStack(Item item) {
+        return template(item).itemStack;
+    }
+
+    private static ItemTemplate template(Item item) {
+        ItemTemplate template = TEMPLATES.get(item);
+        if (template == null || !template.matches(item)) {
+            template = new ItemTemplate(item, item.buildItemStack());
+            TEMPLATES.put(item, template);
+        }
+        return template;
+    }
+
+    static void invalidate(Item item) {
+        TEMPLATES.remove(item);
+    }
+
+    private boolean matches(Item item) {
+        return amount == item.getAmount()
+                && material == item.getMaterial()
+                && unbreakable == item.isUnbreakable()
+                && glow == item.isGlow()
+                && modelData == item.getModelData()
+                && potionType == item.getPotionType()
+                && extended == item.isExtended()
+                && upgraded == item.isUpgraded()
+                && Objects.equals(name, item.getName())
+                && Objects.equals(lore, item.getLore())
+                && Objects.equals(base64, item.getBase64())
+                && Objects.equals(enchantments, item.getEnchantments())
+                && Objects.equals(attributeModifiers, item.getAttributeModifiers())
+                && Objects.equals(itemFlags, item.getItemFlags())
+                && Objects.equals(hexColor, item.getHexColor())
+                && Objects.equals(potionHexColor, item.getPotionHexColor())
+                && Objects.equals(fireworkHexColor, item.getFireworkHexColor());
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private static <K, V> Map<K, List<V>> copy(Map<K, List<V>> map) {
+        if (map == null) {
+            return null;
+        }
+        Map<K, List<V>> copy = new HashMap<>();
+        map.forEach((key, value) -> copy.put(key, copy(value)));
+        return copy;
+    }
+}
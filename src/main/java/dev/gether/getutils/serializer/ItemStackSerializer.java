@@ -3,13 +3,20 @@ package dev.gether.getutils.serializer;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
 import org.bukkit.inventory.ItemStack;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
 
+/**
+ * Writes {@link ItemStack#serialize()} straight into the generator.
+ * Nested {@link ConfigurationSerializable} values are written as maps with the {@code ==} type key,
+ * which is the layout YamlConfiguration produces and {@link dev.gether.getutils.deserializer.ItemStackDeserializer} reads.
+ */
 public class ItemStackSerializer extends StdSerializer<ItemStack> {
 
     public ItemStackSerializer() {
@@ -18,17 +25,66 @@ public class ItemStackSerializer extends StdSerializer<ItemStack> {
 
     @Override
     public void serialize(ItemStack itemStack, JsonGenerator gen, SerializerProvider provider) throws IOException {
-        // serialize itemstack to map
-        //Map<String, Object> serializedItemStack = itemStack.serialize();
-        YamlConfiguration craftConfig = new YamlConfiguration();
-        craftConfig.set("_", itemStack);
+        // the root object is written without the "==" key
+        writeMap(itemStack.serialize(), gen, provider);
+    }
 
-        Map<String, Map<String, Object>> root = new Yaml().load(craftConfig.saveToString());
-        Map<String, Object> itemMap = root.get("_");
+    private void writeValue(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String string) {
+            gen.writeString(string);
+        } else if (value instanceof Boolean bool) {
+            gen.writeBoolean(bool);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            gen.writeNumber(((Number) value).intValue());
+        } else if (value instanceof Long number) {
+            gen.writeNumber(number);
+        } else if (value instanceof Double number) {
+            gen.writeNumber(number);
+        } else if (value instanceof Float number) {
+            gen.writeNumber(number);
+        } else if (value instanceof ConfigurationSerializable serializable) {
+            writeSerializable(serializable, gen, provider);
+        } else if (value instanceof ConfigurationSection section) {
+            writeMap(section.getValues(false), gen, provider);
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(map, gen, provider);
+        } else if (value instanceof Collection<?> collection) {
+            gen.writeStartArray();
+            for (Object element : collection) {
+                writeValue(element, gen, provider);
+            }
+            gen.writeEndArray();
+        } else if (value instanceof Object[] array) {
+            gen.writeStartArray();
+            for (Object element : array) {
+                writeValue(element, gen, provider);
+            }
+            gen.writeEndArray();
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
 
-        itemMap.remove("==");
+    private void writeSerializable(ConfigurationSerializable serializable, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField(ConfigurationSerialization.SERIALIZED_TYPE_KEY, ConfigurationSerialization.getAlias(serializable.getClass()));
+        writeEntries(serializable.serialize(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private void writeMap(Map<?, ?> map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeEntries(map, gen, provider);
+        gen.writeEndObject();
+    }
 
-        gen.writeObject(itemMap);
+    private void writeEntries(Map<?, ?> map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            gen.writeFieldName(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue(), gen, provider);
+        }
     }
 
-}
\ No newline at end of file
+}
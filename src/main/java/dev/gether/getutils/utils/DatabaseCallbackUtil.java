@@ -1,70 +1,227 @@
 package dev.gether.getutils.utils;
 
+import dev.gether.getutils.Valid;
+import dev.gether.getutils.database.DatabaseDispatcher;
+import dev.gether.getutils.database.DatabaseExecutors;
+import dev.gether.getutils.database.DatabaseMetrics;
+import dev.gether.getutils.database.DatabasePipeline;
+import dev.gether.getutils.database.DatabasePriority;
+import dev.gether.getutils.database.MainThreadDispatcher;
+import dev.gether.getutils.database.WriteBehindQueue;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class DatabaseCallbackUtil {
     private static final Logger LOGGER = Logger.getLogger(DatabaseCallbackUtil.class.getName());
-    private static final ExecutorService DB_EXECUTOR = Executors.newFixedThreadPool(3);
+    private static final int DEFAULT_THREADS = 3;
+
+    private static volatile DatabaseDispatcher dispatcher;
+    private static volatile MainThreadDispatcher mainThread;
     private static Plugin plugin;
 
     /**
      * Initializes the DatabaseCallbackUtil with a plugin instance.
      * This should be called when your plugin enables.
+     * Operations run on a fixed pool of 3 platform threads.
      *
      * @param plugin Your plugin instance
      */
     public static void init(Plugin plugin) {
+        init(plugin, DatabaseDispatcher.builder().maxConcurrency(DEFAULT_THREADS).build());
+    }
+
+    /**
+     * Initializes the DatabaseCallbackUtil with a plugin instance and an executor for the operations,
+     * e.g. {@link DatabaseExecutors#virtualOrPlatform(int)} or the executor of your connection pool.
+     * The number of concurrent operations is limited only by the executor.
+     * The executor is shut down by {@link #shutdown()} only if {@code owned} is true.
+     *
+     * @param plugin Your plugin instance
+     * @param executor The executor running the database operations
+     * @param owned Whether the executor should be shut down together with this util
+     */
+    public static void init(Plugin plugin, Executor executor, boolean owned) {
+        init(plugin, executor, owned, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Initializes the DatabaseCallbackUtil with a plugin instance and an executor for the operations,
+     * handing at most {@code maxConcurrency} operations to the executor at once, e.g. the size of the connection pool.
+     *
+     * @param plugin Your plugin instance
+     * @param executor The executor running the database operations
+     * @param owned Whether the executor should be shut down together with this util
+     * @param maxConcurrency The maximum number of operations running at once
+     */
+    public static void init(Plugin plugin, Executor executor, boolean owned, int maxConcurrency) {
+        Valid.checkNotNull(executor, "Executor cannot be null");
+        if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be at least 1");
+        init(plugin, DatabaseDispatcher.builder()
+                .executor(executor)
+                .ownsExecutor(owned)
+                .maxConcurrency(maxConcurrency)
+                .build());
+    }
+
+    /**
+     * Initializes the DatabaseCallbackUtil with a plugin instance and a configured dispatcher,
+     * e.g. with a concurrency matching the connection pool, a queue capacity or a default timeout.
+     *
+     * @param plugin Your plugin instance
+     * @param dispatcher The dispatcher queueing the database operations
+     */
+    public static void init(Plugin plugin, DatabaseDispatcher dispatcher) {
+        init(plugin, dispatcher, plugin != null ? MainThreadDispatcher.builder().plugin(plugin).build() : null);
+    }
+
+    /**
+     * Initializes the DatabaseCallbackUtil with a configured dispatcher for the operations
+     * and a configured main thread dispatcher for the callbacks, e.g. with a different tick budget.
+     *
+     * @param plugin Your plugin instance
+     * @param dispatcher The dispatcher queueing the database operations
+     * @param mainThread The dispatcher running the callbacks on the main thread
+     */
+    public static void init(Plugin plugin, DatabaseDispatcher dispatcher, MainThreadDispatcher mainThread) {
+        Valid.checkNotNull(dispatcher, "Dispatcher cannot be null");
         DatabaseCallbackUtil.plugin = plugin;
+        MainThreadDispatcher previousMainThread = DatabaseCallbackUtil.mainThread;
+        DatabaseCallbackUtil.mainThread = mainThread;
+        if (previousMainThread != null && previousMainThread != mainThread) {
+            previousMainThread.shutdown();
+        }
+        DatabaseDispatcher previous = DatabaseCallbackUtil.dispatcher;
+        DatabaseCallbackUtil.dispatcher = dispatcher;
+        if (previous != null && previous != dispatcher) {
+            // the queued operations of the old dispatcher finish in the background
+            previous.shutdownAsync();
+        }
+    }
+
+    /**
+     * @return The dispatcher queueing the database operations
+     */
+    public static DatabaseDispatcher getDispatcher() {
+        DatabaseDispatcher current = dispatcher;
+        if (current == null) {
+            synchronized (DatabaseCallbackUtil.class) {
+                if (dispatcher == null) {
+                    dispatcher = DatabaseDispatcher.builder().maxConcurrency(DEFAULT_THREADS).build();
+                }
+                current = dispatcher;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return The executor running the database operations, tasks submitted to it are queued
+     * with {@link DatabasePriority#NORMAL} priority
+     */
+    public static Executor getExecutor() {
+        return getDispatcher();
+    }
+
+    /**
+     * @return The executor running tasks on the main thread in batches, null before {@link #init(Plugin)}
+     */
+    public static Executor getMainThreadExecutor() {
+        return mainThread;
+    }
+
+    /**
+     * @return The queue depth, wait and execution times of the database operations
+     */
+    public static DatabaseMetrics getMetrics() {
+        return getDispatcher().getMetrics();
     }
 
     /**
      * Executes a database operation asynchronously with success and error callbacks.
+     * The callbacks run on the main thread.
      *
      * @param <T> The type of data being returned from the database
      * @param databaseOperation The database operation to execute
      * @param successCallback Callback to handle successful operation
      * @param errorCallback Callback to handle errors
-     * @return BukkitTask representing the async task
+     * @return BukkitTask submitting the operation to the database executor
+     * @see #executeFuture(DatabaseOperation, Consumer, Consumer)
      */
     public static <T> BukkitTask executeAsync(DatabaseOperation<T> databaseOperation,
                                               Consumer<T> successCallback,
                                               Consumer<Exception> errorCallback) {
-        return Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return databaseOperation.execute();
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                }, DB_EXECUTOR);
-
-                T result = future.get();
-
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    try {
-                        successCallback.accept(result);
-                    } catch (Exception e) {
-                        LOGGER.log(Level.SEVERE, "Error in success callback", e);
-                    }
-                });
-            } catch (Exception e) {
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    try {
-                        errorCallback.accept(e);
-                    } catch (Exception callbackError) {
-                        LOGGER.log(Level.SEVERE, "Error in error callback", callbackError);
-                    }
-                });
+        return Bukkit.getScheduler().runTaskAsynchronously(plugin,
+                () -> executeFuture(databaseOperation, successCallback, errorCallback));
+    }
+
+    /**
+     * Executes a database operation asynchronously with success and error callbacks.
+     * The operation is queued directly on the database executor, the callbacks run on the main thread.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The database operation to execute
+     * @param successCallback Callback to handle successful operation
+     * @param errorCallback Callback to handle errors
+     * @return Future completed with the result of the operation
+     */
+    public static <T> CompletableFuture<T> executeFuture(DatabaseOperation<T> databaseOperation,
+                                                         Consumer<T> successCallback,
+                                                         Consumer<Exception> errorCallback) {
+        CompletableFuture<T> future = supplyAsync(databaseOperation);
+        callback(future, successCallback, errorCallback);
+        return future;
+    }
+
+    /**
+     * Executes a database operation asynchronously with a priority and a timeout.
+     * Cancelling the returned future removes the queued operation or interrupts the running one.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The database operation to execute
+     * @param priority The priority of the operation
+     * @param timeout The time the operation may take from submission, null for the default of the dispatcher
+     * @param successCallback Callback to handle successful operation
+     * @param errorCallback Callback to handle errors, receives a {@link java.util.concurrent.TimeoutException}
+     *                      when the timeout is exceeded
+     * @return Future completed with the result of the operation
+     */
+    public static <T> CompletableFuture<T> executeFuture(DatabaseOperation<T> databaseOperation,
+                                                         DatabasePriority priority,
+                                                         Duration timeout,
+                                                         Consumer<T> successCallback,
+                                                         Consumer<Exception> errorCallback) {
+        CompletableFuture<T> future = supplyAsync(databaseOperation, priority, timeout);
+        callback(future, successCallback, errorCallback);
+        return future;
+    }
+
+    /**
+     * Delivers the outcome of the future to the callbacks on the main thread.
+     *
+     * @param <T> The type of the result
+     * @param future The future to observe
+     * @param successCallback Callback to handle the result
+     * @param errorCallback Callback to handle errors, receives the exception thrown by the operation
+     */
+    public static <T> void callback(CompletableFuture<T> future,
+                                    Consumer<T> successCallback,
+                                    Consumer<Exception> errorCallback) {
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                runSync(() -> successCallback.accept(result), "Error in success callback");
+            } else {
+                Exception exception = unwrap(throwable);
+                runSync(() -> errorCallback.accept(exception), "Error in error callback");
             }
         });
     }
@@ -75,7 +232,7 @@ public class DatabaseCallbackUtil {
      * @param <T> The type of data being returned from the database
      * @param databaseOperation The database operation to execute
      * @param successCallback Callback to handle successful operation
-     * @return BukkitTask representing the async task
+     * @return BukkitTask submitting the operation to the database executor
      */
     public static <T> BukkitTask executeAsync(DatabaseOperation<T> databaseOperation,
                                               Consumer<T> successCallback) {
@@ -85,44 +242,151 @@ public class DatabaseCallbackUtil {
 
     /**
      * Executes a void database operation asynchronously with success and error callbacks.
+     * The callbacks run on the main thread.
      *
      * @param databaseOperation The void database operation to execute
      * @param successCallback Callback to handle successful operation
      * @param errorCallback Callback to handle errors
-     * @return BukkitTask representing the async task
+     * @return BukkitTask submitting the operation to the database executor
+     * @see #executeVoidFuture(VoidDatabaseOperation, Runnable, Consumer)
      */
     public static BukkitTask executeVoidAsync(VoidDatabaseOperation databaseOperation,
                                               Runnable successCallback,
                                               Consumer<Exception> errorCallback) {
-        return Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        return Bukkit.getScheduler().runTaskAsynchronously(plugin,
+                () -> executeVoidFuture(databaseOperation, successCallback, errorCallback));
+    }
+
+    /**
+     * Executes a void database operation asynchronously with success and error callbacks.
+     * The operation is queued directly on the database executor, the callbacks run on the main thread.
+     *
+     * @param databaseOperation The void database operation to execute
+     * @param successCallback Callback to handle successful operation
+     * @param errorCallback Callback to handle errors
+     * @return Future completed when the operation finished
+     */
+    public static CompletableFuture<Void> executeVoidFuture(VoidDatabaseOperation databaseOperation,
+                                                            Runnable successCallback,
+                                                            Consumer<Exception> errorCallback) {
+        return executeFuture(() -> {
+            databaseOperation.execute();
+            return null;
+        }, result -> successCallback.run(), errorCallback);
+    }
+
+    /**
+     * Runs the operation on the database executor without any callback.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The database operation to execute
+     * @return Future completed with the result of the operation, on a database thread
+     */
+    public static <T> CompletableFuture<T> supplyAsync(DatabaseOperation<T> databaseOperation) {
+        return supplyAsync(databaseOperation, null);
+    }
+
+    /**
+     * Queues the operation on the dispatcher without any callback.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The database operation to execute
+     * @param priority The priority of the operation
+     * @param timeout The time the operation may take from submission, null for the default of the dispatcher
+     * @return Future completed with the result of the operation, on a database thread
+     */
+    public static <T> CompletableFuture<T> supplyAsync(DatabaseOperation<T> databaseOperation,
+                                                       DatabasePriority priority,
+                                                       Duration timeout) {
+        DatabaseDispatcher current = getDispatcher();
+        return timeout != null
+                ? current.submit(databaseOperation, priority, timeout)
+                : current.submit(databaseOperation, priority);
+    }
+
+    /**
+     * Runs the operation on the given executor without any callback.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The database operation to execute
+     * @param executor The executor to run the operation on, or null for the database executor
+     * @return Future completed with the result of the operation
+     */
+    public static <T> CompletableFuture<T> supplyAsync(DatabaseOperation<T> databaseOperation, Executor executor) {
+        if (executor == null || executor == dispatcher) {
+            return supplyAsync(databaseOperation, DatabasePriority.NORMAL, null);
+        }
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    try {
-                        databaseOperation.execute();
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                }, DB_EXECUTOR);
-
-                future.get();
-
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    try {
-                        successCallback.run();
-                    } catch (Exception e) {
-                        LOGGER.log(Level.SEVERE, "Error in success callback", e);
-                    }
-                });
+                return databaseOperation.execute();
+            } catch (RuntimeException e) {
+                throw e;
             } catch (Exception e) {
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    try {
-                        errorCallback.accept(e);
-                    } catch (Exception callbackError) {
-                        LOGGER.log(Level.SEVERE, "Error in error callback", callbackError);
-                    }
-                });
+                throw new CompletionException(e);
             }
-        });
+        }, executor);
+    }
+
+    /**
+     * Starts a pipeline of database operations, see {@link DatabasePipeline}.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The first database operation
+     * @return The pipeline
+     */
+    public static <T> DatabasePipeline<T> pipeline(DatabaseOperation<T> databaseOperation) {
+        return DatabasePipeline.start(databaseOperation);
+    }
+
+    /**
+     * Starts a pipeline of database operations with a priority and a timeout for every stage.
+     *
+     * @param <T> The type of data being returned from the database
+     * @param databaseOperation The first database operation
+     * @param priority The priority of every stage
+     * @param timeout The timeout of every stage, null for the default of the dispatcher
+     * @return The pipeline
+     */
+    public static <T> DatabasePipeline<T> pipeline(DatabaseOperation<T> databaseOperation,
+                                                   DatabasePriority priority,
+                                                   Duration timeout) {
+        return DatabasePipeline.start(databaseOperation, priority, timeout);
+    }
+
+    /**
+     * Runs the task on the main thread, directly if the caller already is on it.
+     * Otherwise the task is queued on the main thread dispatcher, which runs queued callbacks
+     * in batches within a per-tick time budget.
+     */
+    static void runSync(Runnable task, String errorMessage) {
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, errorMessage, e);
+            }
+        };
+
+        if (Bukkit.isPrimaryThread()) {
+            guarded.run();
+        } else if (mainThread != null) {
+            mainThread.execute(guarded);
+        } else if (plugin != null && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, guarded);
+        } else {
+            LOGGER.warning("Callback skipped, the plugin is not enabled: " + errorMessage);
+        }
+    }
+
+    /**
+     * Returns the exception thrown by the operation itself.
+     */
+    static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception exception ? exception : new ExecutionException(cause);
     }
 
     /**
@@ -144,10 +408,21 @@ public class DatabaseCallbackUtil {
     }
 
     /**
-     * Shuts down the executor service.
+     * Writes the pending updates of every {@link WriteBehindQueue}, runs the queued operations,
+     * shuts down the executor service, if it was created by this class, and runs the queued callbacks.
      * This should be called when your plugin disables.
      */
     public static void shutdown() {
-        DB_EXECUTOR.shutdown();
+        WriteBehindQueue.shutdownAll();
+        DatabaseDispatcher current = dispatcher;
+        if (current != null) {
+            current.shutdown();
+        }
+        dispatcher = null;
+        MainThreadDispatcher currentMainThread = mainThread;
+        if (currentMainThread != null) {
+            currentMainThread.shutdown();
+        }
+        mainThread = null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,279 @@
+package dev.gether.getutils.utils;
+
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.*;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in index of the {@link PersistentDataType#STRING} tags in player inventories.
+ *
+ * <p>The slots of every tag are collected in one scan and reused until an inventory event of the player
+ * invalidates them, so {@link PlayerUtil#countItemsByKey(Player, NamespacedKey)} and
+ * {@link PlayerUtil#removeItemsByKey(Player, NamespacedKey, int)} only visit the matching slots instead of
+ * copying the meta of every slot. Indexed slots are checked against a copy of the indexed item (material,
+ * amount and meta including the persistent data) on every query, and a mismatch falls back to a full rescan.</p>
+ *
+ * <p>Changes made by other plugins through the inventory API do not fire events. Call
+ * {@link #invalidate(Player)} after such changes, or leave the index disabled.</p>
+ */
+public final class InventoryKeyIndex implements Listener {
+
+    @Getter private static InventoryKeyIndex instance;
+
+    private final JavaPlugin plugin;
+    private final Map<UUID, PlayerIndex> indexes = new ConcurrentHashMap<>();
+
+    private InventoryKeyIndex(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Enables the index and registers its listener. Calling it again does nothing.
+     */
+    public static void initialize(JavaPlugin plugin) {
+        if (instance == null) {
+            instance = new InventoryKeyIndex(plugin);
+            plugin.getServer().getPluginManager().registerEvents(instance, plugin);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return instance != null;
+    }
+
+    /**
+     * Disables the index (to be used when the plugin is disabled).
+     */
+    public static void cleanup() {
+        if (instance != null) {
+            instance.indexes.clear();
+            instance = null;
+        }
+    }
+
+    /**
+     * Counts the items tagged with the key.
+     *
+     * @param player The player whose inventory will be searched
+     * @param key The NamespacedKey to identify the items
+     * @return The total number of tagged items
+     */
+    public int count(Player player, NamespacedKey key) {
+        PlayerInventory inventory = player.getInventory();
+        BitSet slots = locate(player, key);
+        int total = 0;
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            total += inventory.getItem(slot).getAmount();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the slots holding items tagged with the key, in {@link PlayerInventory#getContents()} order.
+     *
+     * @param player The player whose inventory will be searched
+     * @param key The NamespacedKey to identify the items
+     * @return A copy of the matching slots
+     */
+    public BitSet locate(Player player, NamespacedKey key) {
+        PlayerInventory inventory = player.getInventory();
+        PlayerIndex index = indexes.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerIndex());
+        if (index.dirty || !index.isValid(inventory, key)) {
+            index.rebuild(inventory);
+        }
+        BitSet slots = index.slots.get(key);
+        return slots == null ? new BitSet() : (BitSet) slots.clone();
+    }
+
+    /**
+     * Marks the player's index as outdated, the next query scans the inventory again.
+     */
+    public void invalidate(Player player) {
+        PlayerIndex index = indexes.get(player.getUniqueId());
+        if (index != null) {
+            index.dirty = true;
+        }
+    }
+
+    /**
+     * Invalidates the player's index if the index is enabled, used after changes made by this library.
+     */
+    static void changed(Player player) {
+        InventoryKeyIndex index = instance;
+        if (index != null && player != null) {
+            index.invalidate(player);
+        }
+    }
+
+    /**
+     * Invalidates the index now and once more on the next tick, because most events
+     * change the inventory only after all listeners were called.
+     */
+    private void invalidateAround(HumanEntity entity) {
+        PlayerIndex index = indexes.get(entity.getUniqueId());
+        if (index == null) {
+            return;
+        }
+        index.dirty = true;
+        if (!index.pendingTick) {
+            index.pendingTick = true;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                index.pendingTick = false;
+                index.dirty = true;
+            });
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClick(InventoryClickEvent event) {
+        invalidateAround(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDrag(InventoryDragEvent event) {
+        invalidateAround(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClose(InventoryCloseEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDrop(PlayerDropItemEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            invalidateAround(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBreak(PlayerItemBreakEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSwap(PlayerSwapHandItemsEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlace(BlockPlaceEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onShoot(EntityShootBowEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            invalidateAround(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        invalidateAround(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        invalidateAround(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        indexes.remove(event.getPlayer().getUniqueId());
+    }
+
+    private static final class PlayerIndex {
+
+        private final Map<NamespacedKey, BitSet> slots = new HashMap<>();
+        // kopie zaindeksowanych itemów, null dla slotów bez tagów
+        private ItemStack[] snapshots = new ItemStack[0];
+        private volatile boolean dirty = true;
+        private boolean pendingTick;
+
+        /**
+         * Checks that the indexed slots of the key still hold the indexed item with the same amount.
+         * {@link ItemStack#isSimilar(ItemStack)} compares the NBT of the items without copying their meta.
+         */
+        private boolean isValid(PlayerInventory inventory, NamespacedKey key) {
+            BitSet keySlots = slots.get(key);
+            if (keySlots == null) {
+                return true;
+            }
+            for (int slot = keySlots.nextSetBit(0); slot >= 0; slot = keySlots.nextSetBit(slot + 1)) {
+                ItemStack item = inventory.getItem(slot);
+                ItemStack snapshot = slot < snapshots.length ? snapshots[slot] : null;
+                if (item == null || snapshot == null || item.getAmount() != snapshot.getAmount() || !item.isSimilar(snapshot)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rebuild(PlayerInventory inventory) {
+            slots.clear();
+            ItemStack[] contents = inventory.getContents();
+            snapshots = new ItemStack[contents.length];
+            for (int i = 0; i < contents.length; i++) {
+                ItemStack item = contents[i];
+                if (item == null || item.getType().isAir() || !item.hasItemMeta()) {
+                    continue;
+                }
+                ItemMeta meta = item.getItemMeta();
+                if (meta == null) {
+                    continue;
+                }
+                PersistentDataContainer container = meta.getPersistentDataContainer();
+                for (NamespacedKey key : container.getKeys()) {
+                    if (container.has(key, PersistentDataType.STRING)) {
+                        slots.computeIfAbsent(key, k -> new BitSet(contents.length)).set(i);
+                        if (snapshots[i] == null) {
+                            snapshots[i] = item.clone();
+                        }
+                    }
+                }
+            }
+            dirty = false;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package dev.gether.getutils.utils;
+
+import lombok.Getter;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plans several removals and additions against one snapshot of an inventory and writes them back together.
+ *
+ * <p>Every step is checked against the snapshot, so later steps see the result of earlier ones. If any step
+ * cannot be completed, the transaction is marked as failed and {@link #commit()} writes nothing. Nothing is
+ * written to the inventory before {@link #commit()}, so {@link #rollback()} only discards the plan.</p>
+ *
+ * <pre>{@code
+ * boolean bought = InventoryTransaction.of(player)
+ *         .remove(priceItem, 64)
+ *         .add(rewardItem)
+ *         .commit();
+ * }</pre>
+ *
+ * <p>A transaction has to be created and committed on the main thread, within the same tick.</p>
+ */
+public final class InventoryTransaction {
+
+    private final Inventory inventory;
+    private final Player player;
+    private final ItemStack[] contents;
+    private final int storageSize;
+    private final BitSet changed = new BitSet();
+    private final List<ItemStack> overflow = new ArrayList<>();
+
+    @Getter
+    private boolean failed;
+    private boolean finished;
+
+    private InventoryTransaction(Inventory inventory, Player player) {
+        this.inventory = inventory;
+        this.player = player;
+        // the returned items may be mirrors of the live slots, they are cloned before they are changed
+        this.contents = inventory.getContents();
+        this.storageSize = inventory instanceof PlayerInventory playerInventory
+                ? playerInventory.getStorageContents().length
+                : contents.length;
+    }
+
+    /**
+     * Starts a transaction on the player's inventory.
+     *
+     * @param player The player whose inventory will be modified
+     * @return The transaction
+     * @throws IllegalArgumentException if player is null
+     */
+    public static InventoryTransaction of(Player player) {
+        if (player == null) throw new IllegalArgumentException("Player cannot be null");
+        return new InventoryTransaction(player.getInventory(), player);
+    }
+
+    /**
+     * Starts a transaction on any inventory.
+     *
+     * @param inventory The inventory that will be modified
+     * @return The transaction
+     * @throws IllegalArgumentException if inventory is null
+     */
+    public static InventoryTransaction of(Inventory inventory) {
+        if (inventory == null) throw new IllegalArgumentException("Inventory cannot be null");
+        return new InventoryTransaction(inventory, inventory.getHolder() instanceof Player holder ? holder : null);
+    }
+
+    /**
+     * Counts the items similar to the given item in the planned contents.
+     *
+     * @param itemStack The ItemStack representing the type of item to count
+     * @return The total amount of matching items
+     */
+    public int count(ItemStack itemStack) {
+        return ItemFingerprint.of(itemStack).count(contents);
+    }
+
+    /**
+     * Counts the items tagged with the key in the planned contents.
+     *
+     * @param key The NamespacedKey to identify the items
+     * @return The total amount of matching items
+     */
+    public int countByKey(NamespacedKey key) {
+        if (key == null) throw new IllegalArgumentException("NamespacedKey cannot be null");
+        int total = 0;
+        for (ItemStack item : contents) {
+            if (item != null && PlayerUtil.hasNamespacedKey(item, key)) {
+                total += item.getAmount();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Plans the removal of items similar to the given item. Fails the transaction
+     * if the planned contents hold fewer than {@code amount} matching items.
+     *
+     * @param itemStack The ItemStack representing the type of item to remove
+     * @param amount The number of items to remove
+     * @return This transaction
+     */
+    public InventoryTransaction remove(ItemStack itemStack, int amount) {
+        if (itemStack == null) throw new IllegalArgumentException("ItemStack cannot be null");
+        if (amount < 0) throw new IllegalArgumentException("Amount cannot be negative");
+        if (!canPlan()) return this;
+
+        ItemFingerprint fingerprint = ItemFingerprint.of(itemStack);
+        if (fingerprint.count(contents) < amount) {
+            failed = true;
+            return this;
+        }
+
+        int remaining = amount;
+        for (int i = 0; i < contents.length && remaining > 0; i++) {
+            if (fingerprint.matches(contents[i])) {
+                remaining -= take(i, remaining);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Plans the removal of items tagged with the key. Fails the transaction
+     * if the planned contents hold fewer than {@code amount} tagged items.
+     *
+     * @param key The NamespacedKey to identify the items to remove
+     * @param amount The number of items to remove
+     * @return This transaction
+     */
+    public InventoryTransaction removeByKey(NamespacedKey key, int amount) {
+        if (amount < 0) throw new IllegalArgumentException("Amount cannot be negative");
+        if (!canPlan()) return this;
+
+        if (countByKey(key) < amount) {
+            failed = true;
+            return this;
+        }
+
+        int remaining = amount;
+        for (int i = 0; i < contents.length && remaining > 0; i++) {
+            ItemStack item = contents[i];
+            if (item != null && PlayerUtil.hasNamespacedKey(item, key)) {
+                remaining -= take(i, remaining);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Plans the addition of items. Fails the transaction if they do not fit into the planned contents.
+     *
+     * @param items The items to add
+     * @return This transaction
+     */
+    public InventoryTransaction add(ItemStack... items) {
+        if (!canPlan()) return this;
+
+        for (ItemStack item : items) {
+            if (item != null && place(item) > 0) {
+                failed = true;
+                return this;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Plans the addition of items. Whatever does not fit is dropped next to the player on commit,
+     * or discarded if the inventory does not belong to a player.
+     *
+     * @param items The items to give
+     * @return This transaction
+     */
+    public InventoryTransaction give(ItemStack... items) {
+        if (!canPlan()) return this;
+
+        for (ItemStack item : items) {
+            if (item == null) continue;
+            int left = place(item);
+            if (left > 0) {
+                ItemStack rest = item.clone();
+                rest.setAmount(left);
+                overflow.add(rest);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return The items planned to be dropped because they did not fit
+     */
+    public List<ItemStack> getOverflow() {
+        return Collections.unmodifiableList(overflow);
+    }
+
+    /**
+     * Writes the changed slots to the inventory and updates the player's view once.
+     *
+     * @return true if the plan was written, false if the transaction failed and nothing was changed
+     * @throws IllegalStateException if the transaction was already committed or rolled back
+     */
+    public boolean commit() {
+        ensureOpen();
+        finished = true;
+        if (failed) {
+            return false;
+        }
+
+        for (int slot = changed.nextSetBit(0); slot >= 0; slot = changed.nextSetBit(slot + 1)) {
+            inventory.setItem(slot, contents[slot]);
+        }
+        if (player != null) {
+            InventoryKeyIndex.changed(player);
+            for (ItemStack item : overflow) {
+                ItemPlacement.drop(player, item, item.getAmount(), -1);
+            }
+            if (!changed.isEmpty()) {
+                player.updateInventory();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards the plan, the inventory is left untouched.
+     *
+     * @throws IllegalStateException if the transaction was already committed or rolled back
+     */
+    public void rollback() {
+        ensureOpen();
+        finished = true;
+    }
+
+    /**
+     * Removes up to {@code max} items from the slot and returns how many were removed.
+     */
+    private int take(int slot, int max) {
+        ItemStack item = contents[slot];
+        int taken = Math.min(item.getAmount(), max);
+        if (taken == item.getAmount()) {
+            contents[slot] = null;
+        } else {
+            editable(slot).setAmount(item.getAmount() - taken);
+        }
+        changed.set(slot);
+        return taken;
+    }
+
+    /**
+     * Places the item into similar stacks first and empty storage slots after that.
+     *
+     * @return The amount that did not fit
+     */
+    private int place(ItemStack item) {
+        int maxStack = Math.min(item.getMaxStackSize(), inventory.getMaxStackSize());
+        return ItemPlacement.place(contents, storageSize, maxStack, item, item.getAmount(), -1, changed);
+    }
+
+    private ItemStack editable(int slot) {
+        if (!changed.get(slot)) {
+            contents[slot] = contents[slot].clone();
+        }
+        return contents[slot];
+    }
+
+    private boolean canPlan() {
+        ensureOpen();
+        return !failed;
+    }
+
+    private void ensureOpen() {
+        if (finished) {
+            throw new IllegalStateException("The transaction was already finished.");
+        }
+    }
+}
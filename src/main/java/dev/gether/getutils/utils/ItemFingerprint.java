@@ -0,0 +1,192 @@
+package dev.gether.getutils.utils;
+
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reference item prepared once for comparing against many inventory slots.
+ *
+ * <p>{@link ItemStack#isSimilar(ItemStack)} between an inventory slot and a plain Bukkit {@link ItemStack}
+ * copies the meta of the slot on every call. The fingerprint keeps a server-side copy of the reference,
+ * so similarity is checked on the server item data directly, and rejects slots by material and meta
+ * presence before that. Use it when one item is looked up in a whole inventory:</p>
+ *
+ * <pre>{@code
+ * ItemFingerprint price = ItemFingerprint.of(priceItem);
+ * if (price.count(player.getInventory().getContents()) >= 64) { ... }
+ * }</pre>
+ */
+public final class ItemFingerprint {
+
+    private static final MethodHandle AS_CRAFT_COPY = resolveCraftCopy();
+
+    @Getter
+    private final Material material;
+    private final boolean hasMeta;
+    private final ItemStack reference;
+    private final int hash;
+
+    // fields compared by ItemUtil#sameItem, read once from the reference
+    private final String displayName;
+    private final List<String> lore;
+    private final Map<Enchantment, Integer> enchantments;
+    private final Set<ItemFlag> itemFlags;
+    private final boolean unbreakable;
+
+    private ItemFingerprint(ItemStack item) {
+        this.reference = craftCopy(item);
+        this.reference.setAmount(1);
+        this.material = reference.getType();
+        this.hasMeta = reference.hasItemMeta();
+        this.hash = reference.hashCode();
+
+        ItemMeta meta = reference.getItemMeta();
+        this.displayName = meta != null ? meta.getDisplayName() : null;
+        this.lore = meta != null ? meta.getLore() : null;
+        this.enchantments = reference.getEnchantments();
+        this.itemFlags = meta != null ? meta.getItemFlags() : Set.of();
+        this.unbreakable = meta != null && meta.isUnbreakable();
+    }
+
+    /**
+     * Creates the fingerprint of an item. The amount of the item is ignored.
+     *
+     * @param item The reference item
+     * @return The fingerprint
+     * @throws IllegalArgumentException if the item is null
+     */
+    public static ItemFingerprint of(ItemStack item) {
+        if (item == null) throw new IllegalArgumentException("ItemStack cannot be null");
+        return new ItemFingerprint(item);
+    }
+
+    /**
+     * Checks whether the item is similar to the reference, with the semantics of {@link ItemStack#isSimilar(ItemStack)}.
+     *
+     * @param item The item to check, may be null
+     * @return true if the item is similar to the reference
+     */
+    public boolean matches(ItemStack item) {
+        if (!quickMatch(item)) {
+            return false;
+        }
+        return !hasMeta || reference.isSimilar(item);
+    }
+
+    /**
+     * Checks whether the item has the same material, display name, lore, enchantments, flags
+     * and unbreakable state as the reference, with the semantics of {@link ItemUtil#sameItem(ItemStack, ItemStack)}.
+     *
+     * @param item The item to check, may be null
+     * @return true if the item looks the same as the reference
+     */
+    public boolean matchesAppearance(ItemStack item) {
+        return matchesFields(item, true);
+    }
+
+    /**
+     * Same as {@link #matchesAppearance(ItemStack)} but ignores the lore,
+     * with the semantics of {@link ItemUtil#sameItemName(ItemStack, ItemStack)}.
+     *
+     * @param item The item to check, may be null
+     * @return true if the item has the same name as the reference
+     */
+    public boolean matchesName(ItemStack item) {
+        return matchesFields(item, false);
+    }
+
+    /**
+     * Counts the items similar to the reference.
+     *
+     * @param contents The slots to search, e.g. inventory contents
+     * @return The total amount of matching items
+     */
+    public int count(ItemStack[] contents) {
+        int total = 0;
+        for (ItemStack item : contents) {
+            if (matches(item)) {
+                total += item.getAmount();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return A copy of the reference item with an amount of 1
+     */
+    public ItemStack getItemStack() {
+        return reference.clone();
+    }
+
+    private boolean quickMatch(ItemStack item) {
+        return item != null && item.getType() == material && item.getAmount() > 0 && item.hasItemMeta() == hasMeta;
+    }
+
+    private boolean matchesFields(ItemStack item, boolean compareLore) {
+        if (item == null || item.getType() != material) {
+            return false;
+        }
+        // similar items always share the compared fields, this check does not copy the meta
+        if (item.hasItemMeta() == hasMeta && (!hasMeta || reference.isSimilar(item))) {
+            return true;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return displayName == null && lore == null && enchantments.isEmpty() && itemFlags.isEmpty() && !unbreakable;
+        }
+        return Objects.equals(displayName, meta.getDisplayName())
+                && (!compareLore || Objects.equals(lore, meta.getLore()))
+                && Objects.equals(enchantments, meta.getEnchants())
+                && Objects.equals(itemFlags, meta.getItemFlags())
+                && unbreakable == meta.isUnbreakable();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemFingerprint other)) return false;
+        return hash == other.hash && material == other.material && reference.isSimilar(other.reference);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static ItemStack craftCopy(ItemStack item) {
+        if (AS_CRAFT_COPY != null) {
+            try {
+                return (ItemStack) AS_CRAFT_COPY.invoke(item);
+            } catch (Throwable ignored) {
+                // fall back to a plain copy
+            }
+        }
+        return item.clone();
+    }
+
+    private static MethodHandle resolveCraftCopy() {
+        try {
+            String craftPackage = Bukkit.getServer().getClass().getPackage().getName();
+            Class<?> craftItemStack = Class.forName(craftPackage + ".inventory.CraftItemStack");
+            return MethodHandles.publicLookup().findStatic(craftItemStack, "asCraftCopy",
+                    MethodType.methodType(craftItemStack, ItemStack.class));
+        } catch (Exception e) {
+            // not running on CraftBukkit, plain copies are compared instead
+            return null;
+        }
+    }
+}
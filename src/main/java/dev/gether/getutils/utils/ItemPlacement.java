@@ -0,0 +1,97 @@
+package dev.gether.getutils.utils;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+
+/**
+ * Computes where items go in a contents array, in a single pass over the slots.
+ * Shared by {@link PlayerUtil#giveItem(Player, ItemStack, int, boolean, int)} and {@link InventoryTransaction}.
+ */
+final class ItemPlacement {
+
+    private ItemPlacement() {}
+
+    /**
+     * Places the amount of the item into the contents. The preferred slot is filled first if it is empty,
+     * then similar stacks are topped up, then empty slots are used in order. Slots that were not marked
+     * in {@code changed} yet are cloned before they are modified, then marked.
+     *
+     * @param contents The planned contents, modified in place
+     * @param storageSize The number of slots from the start of the contents that can receive items
+     * @param maxStack The maximum stack size for the item in this inventory
+     * @param item The item to place
+     * @param amount The amount to place
+     * @param preferredSlot The slot to fill first, or -1
+     * @param changed The slots that were already changed
+     * @return The amount that did not fit
+     */
+    static int place(ItemStack[] contents, int storageSize, int maxStack, ItemStack item, int amount, int preferredSlot, BitSet changed) {
+        int remaining = amount;
+        if (preferredSlot >= 0 && preferredSlot < storageSize && isEmpty(contents[preferredSlot]) && remaining > 0) {
+            remaining -= put(contents, preferredSlot, item, Math.min(maxStack, remaining), changed);
+        }
+
+        ItemFingerprint fingerprint = ItemFingerprint.of(item);
+        int[] empty = new int[storageSize];
+        int emptyCount = 0;
+        for (int i = 0; i < storageSize && remaining > 0; i++) {
+            ItemStack current = contents[i];
+            if (isEmpty(current)) {
+                empty[emptyCount++] = i;
+            } else if (current.getAmount() < maxStack && fingerprint.matches(current)) {
+                int added = Math.min(maxStack - current.getAmount(), remaining);
+                editable(contents, i, changed).setAmount(current.getAmount() + added);
+                remaining -= added;
+            }
+        }
+
+        for (int i = 0; i < emptyCount && remaining > 0; i++) {
+            remaining -= put(contents, empty[i], item, Math.min(maxStack, remaining), changed);
+        }
+        return remaining;
+    }
+
+    /**
+     * Drops the amount of the item next to the player, merged into stacks of the maximum size.
+     *
+     * @param maxStacks The maximum number of item entities to spawn, or -1 for no limit
+     * @return The amount that was not dropped because of the limit
+     */
+    static int drop(Player player, ItemStack item, int amount, int maxStacks) {
+        int maxStack = Math.max(1, item.getMaxStackSize());
+        Location location = player.getLocation();
+        int remaining = amount;
+        int dropped = 0;
+        while (remaining > 0 && (maxStacks < 0 || dropped < maxStacks)) {
+            ItemStack stack = item.clone();
+            stack.setAmount(Math.min(maxStack, remaining));
+            player.getWorld().dropItemNaturally(location, stack);
+            remaining -= stack.getAmount();
+            dropped++;
+        }
+        return remaining;
+    }
+
+    static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType().isAir();
+    }
+
+    private static int put(ItemStack[] contents, int slot, ItemStack item, int amount, BitSet changed) {
+        ItemStack stack = item.clone();
+        stack.setAmount(amount);
+        contents[slot] = stack;
+        changed.set(slot);
+        return amount;
+    }
+
+    private static ItemStack editable(ItemStack[] contents, int slot, BitSet changed) {
+        if (!changed.get(slot)) {
+            contents[slot] = contents[slot].clone();
+            changed.set(slot);
+        }
+        return contents[slot];
+    }
+}
@@ -1,6 +1,5 @@
 package dev.gether.getutils.utils;
 
-import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -60,6 +59,8 @@ public class ItemUtil {
     }
 
     public static int removeItemReturnSlot(Player player, ItemStack itemStack, int amount) {
+        ItemFingerprint fingerprint = ItemFingerprint.of(itemStack);
+        InventoryKeyIndex.changed(player);
         int remove = amount;
         for (int i = 0; i < player.getInventory().getSize(); i++) {
             ItemStack current = player.getInventory().getItem(i);
@@ -67,7 +68,7 @@ public class ItemUtil {
                 continue;
             }
 
-            if (current.isSimilar(itemStack)) {
+            if (fingerprint.matches(current)) {
                 int currentAmount = current.getAmount();
                 if (currentAmount >= remove) {
                     current.setAmount(currentAmount - remove);
@@ -83,6 +84,8 @@ public class ItemUtil {
     }
 
     public static void removeItem(Player player, ItemStack itemStack, int amount) {
+        ItemFingerprint fingerprint = ItemFingerprint.of(itemStack);
+        InventoryKeyIndex.changed(player);
         int remove = amount;
         for (int i = 0; i < player.getInventory().getSize(); i++) {
             ItemStack current = player.getInventory().getItem(i);
@@ -90,7 +93,7 @@ public class ItemUtil {
                 continue;
             }
 
-            if (current.isSimilar(itemStack)) {
+            if (fingerprint.matches(current)) {
                 int currentAmount = current.getAmount();
                 if (currentAmount >= remove) {
                     current.setAmount(currentAmount - remove);
@@ -115,17 +118,7 @@ public class ItemUtil {
 
     public static int calcItem(Player player, ItemStack calcStack)
     {
-        int amount = 0;
-        for(ItemStack itemStack : player.getInventory())
-        {
-            if(itemStack==null || itemStack.getType()== Material.AIR)
-                continue;
-
-            if(itemStack.isSimilar(calcStack))
-                amount+=itemStack.getAmount();
-        }
-
-        return amount;
+        return ItemFingerprint.of(calcStack).count(player.getInventory().getContents());
     }
 
     public static boolean hasCurrentAmount(Player player, ItemStack itemStack, int needAmount)
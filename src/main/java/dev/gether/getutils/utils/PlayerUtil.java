@@ -12,6 +12,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +29,7 @@ public final class PlayerUtil {
      */
     public static void addItems(Player player, boolean ground, ItemStack... items) {
         Map<Integer, ItemStack> notAdded = player.getInventory().addItem(items);
+        InventoryKeyIndex.changed(player);
 
         if (!notAdded.isEmpty()) {
             Location dropLocation = player.getLocation();
@@ -57,11 +59,12 @@ public final class PlayerUtil {
         if (amount < 0) throw new IllegalArgumentException("Amount cannot be negative");
 
         int removedAmount = 0;
+        ItemFingerprint fingerprint = ItemFingerprint.of(itemStack);
         ItemStack[] contents = player.getInventory().getContents();
 
         for (int i = 0; i < contents.length && removedAmount < amount; i++) {
             ItemStack is = contents[i];
-            if (is != null && is.isSimilar(itemStack)) {
+            if (fingerprint.matches(is)) {
                 int currentAmount = Math.min(is.getAmount(), amount - removedAmount);
                 removedAmount += currentAmount;
 
@@ -75,7 +78,7 @@ public final class PlayerUtil {
 
         // Check off-hand separately
         ItemStack offHandItem = player.getInventory().getItemInOffHand();
-        if (offHandItem.isSimilar(itemStack) && removedAmount < amount) {
+        if (removedAmount < amount && fingerprint.matches(offHandItem)) {
             int currentAmount = Math.min(offHandItem.getAmount(), amount - removedAmount);
             removedAmount += currentAmount;
 
@@ -86,6 +89,7 @@ public final class PlayerUtil {
             }
         }
 
+        InventoryKeyIndex.changed(player);
         player.updateInventory();
         return removedAmount;
     }
@@ -104,17 +108,7 @@ public final class PlayerUtil {
         if (player == null) throw new IllegalArgumentException("Player cannot be null");
         if (itemStack == null) throw new IllegalArgumentException("ItemStack cannot be null");
 
-        int totalCount = 0;
-        PlayerInventory inventory = player.getInventory();
-
-        // Count items in main inventory
-        for (ItemStack is : inventory.getContents()) {
-            if (is != null && is.isSimilar(itemStack)) {
-                totalCount += is.getAmount();
-            }
-        }
-
-        return totalCount;
+        return ItemFingerprint.of(itemStack).count(player.getInventory().getContents());
     }
 
 
@@ -132,6 +126,10 @@ public final class PlayerUtil {
         if (player == null) throw new IllegalArgumentException("Player cannot be null");
         if (key == null) throw new IllegalArgumentException("NamespacedKey cannot be null");
 
+        if (InventoryKeyIndex.isEnabled()) {
+            return InventoryKeyIndex.getInstance().count(player, key);
+        }
+
         int totalCount = 0;
         PlayerInventory inventory = player.getInventory();
 
@@ -165,6 +163,25 @@ public final class PlayerUtil {
         int removedAmount = 0;
         PlayerInventory inventory = player.getInventory();
 
+        if (InventoryKeyIndex.isEnabled()) {
+            BitSet slots = InventoryKeyIndex.getInstance().locate(player, key);
+            for (int i = slots.nextSetBit(0); i >= 0 && removedAmount < amount; i = slots.nextSetBit(i + 1)) {
+                ItemStack item = inventory.getItem(i);
+                int toRemove = Math.min(item.getAmount(), amount - removedAmount);
+                removedAmount += toRemove;
+                if (toRemove == item.getAmount()) {
+                    inventory.setItem(i, null);
+                } else {
+                    item.setAmount(item.getAmount() - toRemove);
+                }
+            }
+            if (removedAmount > 0) {
+                InventoryKeyIndex.changed(player);
+                player.updateInventory();
+            }
+            return removedAmount;
+        }
+
         for (int i = 0; i < inventory.getSize() && removedAmount < amount; i++) {
             ItemStack item = inventory.getItem(i);
             if (item != null && hasNamespacedKey(item, key)) {
@@ -192,13 +209,14 @@ public final class PlayerUtil {
         }
 
         if (removedAmount > 0) {
+            InventoryKeyIndex.changed(player);
             player.updateInventory();
         }
 
         return removedAmount;
     }
 
-    private static boolean hasNamespacedKey(ItemStack item, NamespacedKey key) {
+    static boolean hasNamespacedKey(ItemStack item, NamespacedKey key) {
         ItemMeta meta = item.getItemMeta();
         if (meta == null) return false;
         PersistentDataContainer container = meta.getPersistentDataContainer();
@@ -207,11 +225,12 @@ public final class PlayerUtil {
 
 
     public static int removeItemSlot(Player player, ItemStack itemStack) {
+        ItemFingerprint fingerprint = ItemFingerprint.of(itemStack);
+        InventoryKeyIndex.changed(player);
         for (int i = 0; i < player.getInventory().getSize(); ++i) {
             ItemStack current = player.getInventory().getItem(i);
             if (current != null) {
-                ItemStack item = current.clone();
-                if (item.isSimilar(itemStack)) {
+                if (fingerprint.matches(current)) {
                     int currentAmount = current.getAmount();
                     if (currentAmount > 1) {
                         current.setAmount(currentAmount - 1);
@@ -227,11 +246,12 @@ public final class PlayerUtil {
     }
 
     public static int removeItemStackSlot(Player player, ItemStack itemStack) {
+        ItemFingerprint fingerprint = ItemFingerprint.of(itemStack);
+        InventoryKeyIndex.changed(player);
         for (int i = 0; i < player.getInventory().getSize(); ++i) {
             ItemStack current = player.getInventory().getItem(i);
             if (current != null) {
-                ItemStack item = current.clone();
-                if(ItemUtil.sameItemName(item, itemStack)) {
+                if(fingerprint.matchesName(current)) {
                     int currentAmount = current.getAmount();
                     if (currentAmount > 1) {
                         current.setAmount(currentAmount - 1);
@@ -255,6 +275,7 @@ public final class PlayerUtil {
         int maxStackSize = itemStack.getMaxStackSize();
         int fullStacks = amount / maxStackSize;
         int remainder = amount % maxStackSize;
+        InventoryKeyIndex.changed(player);
 
         for (int i = 0; i < fullStacks; i++) {
             ItemStack stack = itemStack.clone();
@@ -297,4 +318,44 @@ public final class PlayerUtil {
             }
         }
     }
+
+    /**
+     * Gives the item to the player. The placement of the whole amount is planned in one pass over the
+     * inventory and the changed slots are written at once. Items that do not fit are merged into stacks
+     * of the maximum size before they are dropped.
+     *
+     * <p>Unlike {@link #giveItem(Player, ItemStack, int, boolean)}, the item always goes into the storage
+     * slots (hotbar and main inventory) after the preferred slot, also when {@code ground} is false, and the
+     * amount that found no place is returned instead of being lost. The preferred slot must be a storage
+     * slot, armor and off-hand slots are ignored.</p>
+     *
+     * @param player The player to give the item to
+     * @param itemStack The item, its amount may exceed the maximum stack size
+     * @param slot The storage slot to fill first if it is empty, or -1
+     * @param ground Whether the items that do not fit are dropped next to the player
+     * @param maxDroppedStacks The maximum number of dropped item entities, or -1 for no limit
+     * @return The amount that was neither added nor dropped
+     */
+    public static int giveItem(Player player, ItemStack itemStack, int slot, boolean ground, int maxDroppedStacks) {
+        if (player == null) throw new IllegalArgumentException("Player cannot be null");
+        if (itemStack == null) throw new IllegalArgumentException("ItemStack cannot be null");
+
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getStorageContents();
+        BitSet changed = new BitSet(contents.length);
+        int maxStack = Math.min(itemStack.getMaxStackSize(), inventory.getMaxStackSize());
+
+        int left = ItemPlacement.place(contents, contents.length, maxStack, itemStack, itemStack.getAmount(), slot, changed);
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            inventory.setItem(i, contents[i]);
+        }
+        if (!changed.isEmpty()) {
+            InventoryKeyIndex.changed(player);
+        }
+
+        if (left > 0 && ground) {
+            left = ItemPlacement.drop(player, itemStack, left, maxDroppedStacks);
+        }
+        return left;
+    }
 }
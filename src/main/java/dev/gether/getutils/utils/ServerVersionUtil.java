@@ -7,6 +7,9 @@ import org.bukkit.Bukkit;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ServerVersionUtil {
 
+    // the server version cannot change at runtime, so it is parsed once
+    private static volatile Boolean newHeadApiSupported;
+
     /**
      * Checks if the server is running on version 1.20 or higher.
      * This method is used to determine if the new Head API is available.
@@ -14,6 +17,15 @@ public class ServerVersionUtil {
      * @return true if the server version is 1.20 or higher, false otherwise
      */
     public static boolean isNewHeadApiSupported() {
+        Boolean supported = newHeadApiSupported;
+        if (supported == null) {
+            supported = parseNewHeadApiSupported();
+            newHeadApiSupported = supported;
+        }
+        return supported;
+    }
+
+    private static boolean parseNewHeadApiSupported() {
         String version = Bukkit.getBukkitVersion();
         String[] versionParts = version.split("-")[0].split("\\.");
 
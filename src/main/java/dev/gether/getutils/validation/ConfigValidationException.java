@@ -0,0 +1,22 @@
+package dev.gether.getutils.validation;
+
+import lombok.Getter;
+
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when a loaded configuration violates its validation annotations.
+ * The message lists every error with its YAML path.
+ */
+@Getter
+public class ConfigValidationException extends RuntimeException {
+
+    private final ValidationReport report;
+
+    public ConfigValidationException(String source, ValidationReport report) {
+        super("Invalid configuration " + source + ":\n" + report.getErrors().stream()
+                .map(violation -> " - " + violation)
+                .collect(Collectors.joining("\n")));
+        this.report = report;
+    }
+}
@@ -0,0 +1,144 @@
+package dev.gether.getutils.validation;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validates configuration objects against the {@link dev.gether.getutils.annotation.NotNull},
+ * {@link dev.gether.getutils.annotation.Range}, {@link dev.gether.getutils.annotation.Pattern}
+ * and {@link dev.gether.getutils.annotation.OneOf} annotations.
+ *
+ * <p>The annotations of every class are read once and compiled into a plan. Validating an object
+ * visits each value exactly once, so the cost stays linear in the size of the configuration.</p>
+ *
+ * <p>Missing values of {@link dev.gether.getutils.annotation.NotNull} fields can be restored from values
+ * recorded with {@link #captureDefaults(Object)} before the object was loaded. No instance of the validated
+ * classes is ever created.</p>
+ */
+public final class ConfigValidator {
+
+    private static final Map<Class<?>, ValidationPlan> PLANS = new ConcurrentHashMap<>();
+
+    private ConfigValidator() {}
+
+    /**
+     * Validates the object and everything reachable from it.
+     *
+     * @param config The object to validate
+     * @return The report with every violation found
+     */
+    public static ValidationReport validate(Object config) {
+        ValidationReport report = new ValidationReport();
+        validate(config, report);
+        return report;
+    }
+
+    /**
+     * Validates the object and adds every violation to the given report.
+     *
+     * @param config The object to validate
+     * @param report The report to add violations to
+     */
+    public static void validate(Object config, ValidationReport report) {
+        validate(config, report, Map.of());
+    }
+
+    /**
+     * Validates the object and adds every violation to the given report. Missing values of
+     * {@link dev.gether.getutils.annotation.NotNull} fields are restored from the given defaults where possible.
+     *
+     * @param config The object to validate
+     * @param report The report to add violations to
+     * @param defaults The values recorded by {@link #captureDefaults(Object)}
+     */
+    public static void validate(Object config, ValidationReport report, Map<String, Object> defaults) {
+        if (config == null) {
+            return;
+        }
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        visited.add(config);
+        planFor(config.getClass()).run(config, "", report, visited, defaults);
+    }
+
+    /**
+     * Records the current immutable values of the {@link dev.gether.getutils.annotation.NotNull} fields
+     * of the object and everything reachable from it, e.g. right before the object is loaded.
+     *
+     * @param config The object whose values are recorded
+     * @return The values by property path
+     */
+    public static Map<String, Object> captureDefaults(Object config) {
+        Map<String, Object> defaults = new HashMap<>();
+        if (config != null) {
+            Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            visited.add(config);
+            planFor(config.getClass()).capture(config, "", defaults, visited);
+        }
+        return defaults;
+    }
+
+    static ValidationPlan planFor(Class<?> type) {
+        // compiled outside computeIfAbsent, compiling may need the plans of other classes
+        ValidationPlan plan = PLANS.get(type);
+        if (plan == null) {
+            plan = ValidationPlan.compile(type);
+            ValidationPlan existing = PLANS.putIfAbsent(type, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Visits a nested value: containers element by element, beans through their own plan.
+     */
+    static void descend(Object value, String path, Set<Object> visited, BeanVisitor visitor) {
+        if (value instanceof Collection<?> collection) {
+            int index = 0;
+            for (Object element : collection) {
+                if (element != null) {
+                    descend(element, path + "[" + index + "]", visited, visitor);
+                }
+                index++;
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() != null) {
+                    descend(entry.getValue(), child(path, String.valueOf(entry.getKey())), visited, visitor);
+                }
+            }
+        } else if (value instanceof Object[]) {
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                Object element = Array.get(value, i);
+                if (element != null) {
+                    descend(element, path + "[" + i + "]", visited, visitor);
+                }
+            }
+        } else if (ValidationPlan.isBeanType(value.getClass()) && visited.add(value)) {
+            ValidationPlan plan = planFor(value.getClass());
+            if (!plan.isEmpty()) {
+                visitor.visit(plan, value, path);
+            }
+        }
+    }
+
+    static String child(String path, String name) {
+        return path.isEmpty() ? name : path + "." + name;
+    }
+
+    /**
+     * Receives the beans found by {@link #descend(Object, String, Set, BeanVisitor)}.
+     */
+    @FunctionalInterface
+    interface BeanVisitor {
+        void visit(ValidationPlan plan, Object bean, String path);
+    }
+}
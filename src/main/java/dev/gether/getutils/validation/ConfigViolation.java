@@ -0,0 +1,28 @@
+package dev.gether.getutils.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A single problem found in a configuration, identified by its YAML path.
+ */
+@Getter
+@AllArgsConstructor
+public class ConfigViolation {
+
+    private final String path;
+    private final String message;
+    private final Severity severity;
+
+    @Override
+    public String toString() {
+        return path + ": " + message;
+    }
+
+    public enum Severity {
+        /** The value is invalid, the configuration cannot be used. */
+        ERROR,
+        /** The value was ignored or replaced, the configuration can still be used. */
+        WARNING
+    }
+}
@@ -0,0 +1,51 @@
+package dev.gether.getutils.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Records properties that do not exist in the configuration class instead of silently dropping them.
+ */
+public class UnknownPropertyCollector extends DeserializationProblemHandler {
+
+    private final ValidationReport report;
+
+    public UnknownPropertyCollector(ValidationReport report) {
+        this.report = report;
+    }
+
+    @Override
+    public boolean handleUnknownProperty(DeserializationContext ctxt, JsonParser p, JsonDeserializer<?> deserializer,
+                                         Object beanOrClass, String propertyName) throws IOException {
+        report.warning(pathOf(p.getParsingContext()), "unknown property, ignored");
+        p.skipChildren();
+        return true;
+    }
+
+    private static String pathOf(JsonStreamContext context) {
+        Deque<JsonStreamContext> contexts = new ArrayDeque<>();
+        for (JsonStreamContext current = context; current != null && !current.inRoot(); current = current.getParent()) {
+            contexts.push(current);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (JsonStreamContext current : contexts) {
+            if (current.inArray()) {
+                sb.append('[').append(current.getCurrentIndex()).append(']');
+            } else if (current.getCurrentName() != null) {
+                if (sb.length() > 0) {
+                    sb.append('.');
+                }
+                sb.append(current.getCurrentName());
+            }
+        }
+        return sb.toString();
+    }
+}
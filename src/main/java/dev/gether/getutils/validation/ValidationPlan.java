@@ -0,0 +1,286 @@
+package dev.gether.getutils.validation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.gether.getutils.GetConfig;
+import dev.gether.getutils.annotation.NotNull;
+import dev.gether.getutils.annotation.OneOf;
+import dev.gether.getutils.annotation.Pattern;
+import dev.gether.getutils.annotation.Range;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The checks for one class, built once from its annotations.
+ */
+final class ValidationPlan {
+
+    private final List<FieldPlan> fields;
+
+    private ValidationPlan(List<FieldPlan> fields) {
+        this.fields = fields;
+    }
+
+    boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Runs every check of this plan against the given instance.
+     *
+     * @param defaults Values restored into missing {@code @NotNull} fields, by path
+     */
+    void run(Object target, String path, ValidationReport report, Set<Object> visited, Map<String, Object> defaults) {
+        for (FieldPlan fieldPlan : fields) {
+            Object value;
+            try {
+                value = fieldPlan.field.get(target);
+            } catch (IllegalAccessException e) {
+                report.error(ConfigValidator.child(path, fieldPlan.name), "cannot be read: " + e.getMessage());
+                continue;
+            }
+            fieldPlan.check(target, value, ConfigValidator.child(path, fieldPlan.name), report, visited, defaults);
+        }
+    }
+
+    /**
+     * Records the current values of the {@code @NotNull} fields that can be restored, by path.
+     */
+    void capture(Object target, String path, Map<String, Object> defaults, Set<Object> visited) {
+        for (FieldPlan fieldPlan : fields) {
+            Object value;
+            try {
+                value = fieldPlan.field.get(target);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+            if (value == null) {
+                continue;
+            }
+            String fieldPath = ConfigValidator.child(path, fieldPlan.name);
+            if (fieldPlan.restorable) {
+                defaults.put(fieldPath, value);
+            }
+            if (fieldPlan.descend) {
+                ConfigValidator.descend(value, fieldPath, visited,
+                        (plan, bean, beanPath) -> plan.capture(bean, beanPath, defaults, visited));
+            }
+        }
+    }
+
+    static ValidationPlan compile(Class<?> type) {
+        Class<?> stop = GetConfig.class.isAssignableFrom(type) ? GetConfig.class : Object.class;
+
+        List<FieldPlan> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != stop; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                        || field.isSynthetic() || field.isAnnotationPresent(JsonIgnore.class)) {
+                    continue;
+                }
+
+                FieldPlan fieldPlan = FieldPlan.compile(field);
+                if (fieldPlan == null) {
+                    continue;
+                }
+                fields.add(fieldPlan);
+            }
+        }
+        return new ValidationPlan(List.copyOf(fields));
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || type == String.class
+                || Number.class.isAssignableFrom(type) && type.getName().startsWith("java.lang.")
+                || type == Boolean.class || type == Character.class;
+    }
+
+    /**
+     * Whether instances of the type can contain annotated fields worth visiting.
+     */
+    static boolean isBeanType(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || type.isArray() || type.isAnnotation()
+                || type.isHidden() || type.isSynthetic() || type.isAnonymousClass()
+                || Plugin.class.isAssignableFrom(type)) {
+            return false; // lambdas and plugin instances would drag in unrelated object graphs
+        }
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.")
+                && !name.startsWith("org.bukkit.") && !name.startsWith("net.md_5.")
+                && !name.startsWith("com.fasterxml.") && !name.startsWith("org.yaml.");
+    }
+
+    /**
+     * Whether a field with the given declared type can hold a bean, directly or inside a container.
+     */
+    private static boolean mayContainBean(Type type) {
+        if (type instanceof Class<?> clazz) {
+            if (clazz.isArray()) {
+                return mayContainBean(clazz.getComponentType());
+            }
+            if (Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)) {
+                return true; // raw container, decided per element
+            }
+            return clazz == Object.class || clazz.isInterface() || isBeanType(clazz);
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw) && arguments.length == 1) {
+                return mayContainBean(arguments[0]);
+            }
+            if (Map.class.isAssignableFrom(raw) && arguments.length == 2) {
+                return mayContainBean(arguments[1]);
+            }
+            return mayContainBean(raw);
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            return mayContainBean(arrayType.getGenericComponentType());
+        }
+        return true; // type variables and wildcards
+    }
+
+    private interface Rule {
+        /**
+         * @return the violation message, or null when the value is valid
+         */
+        String check(Object value);
+    }
+
+    private static final class FieldPlan {
+        private final Field field;
+        private final String name;
+        private final boolean notNull;
+        private final List<Rule> rules;
+        private final boolean descend;
+        // only immutable values are restored, so a captured value can be shared with the instance
+        private final boolean restorable;
+
+        private FieldPlan(Field field, String name, boolean notNull, List<Rule> rules, boolean descend) {
+            this.field = field;
+            this.name = name;
+            this.notNull = notNull;
+            this.rules = rules;
+            this.descend = descend;
+            this.restorable = notNull && isImmutable(field.getType());
+        }
+
+        static FieldPlan compile(Field field) {
+            List<Rule> rules = new ArrayList<>();
+            Class<?> type = field.getType();
+
+            Range range = field.getAnnotation(Range.class);
+            if (range != null) {
+                if (!isNumeric(type)) {
+                    throw new IllegalStateException("@Range requires a numeric field: " + field);
+                }
+                double min = range.min();
+                double max = range.max();
+                rules.add(value -> {
+                    double number = ((Number) value).doubleValue();
+                    return number < min || number > max
+                            ? "must be between " + format(min) + " and " + format(max) + " but was " + value
+                            : null;
+                });
+            }
+
+            Pattern pattern = field.getAnnotation(Pattern.class);
+            if (pattern != null) {
+                if (!CharSequence.class.isAssignableFrom(type)) {
+                    throw new IllegalStateException("@Pattern requires a text field: " + field);
+                }
+                java.util.regex.Pattern compiled = java.util.regex.Pattern.compile(pattern.value());
+                rules.add(value -> compiled.matcher((CharSequence) value).matches()
+                        ? null
+                        : "must match " + pattern.value() + " but was '" + value + "'");
+            }
+
+            OneOf oneOf = field.getAnnotation(OneOf.class);
+            if (oneOf != null) {
+                Set<String> allowed = new HashSet<>(Arrays.asList(oneOf.value()));
+                if (type.isEnum()) {
+                    for (String value : allowed) {
+                        boolean exists = Arrays.stream(type.getEnumConstants())
+                                .anyMatch(constant -> ((Enum<?>) constant).name().equals(value));
+                        if (!exists) {
+                            throw new IllegalStateException("@OneOf value " + value + " is not a constant of " + type.getName() + ": " + field);
+                        }
+                    }
+                }
+                rules.add(value -> {
+                    String text = value instanceof Enum<?> constant ? constant.name() : String.valueOf(value);
+                    return allowed.contains(text) ? null : "must be one of " + allowed + " but was '" + text + "'";
+                });
+            }
+
+            boolean notNull = field.isAnnotationPresent(NotNull.class) && !type.isPrimitive();
+            boolean descend = mayContainBean(field.getGenericType());
+            if (rules.isEmpty() && !notNull && !descend) {
+                return null;
+            }
+
+            field.setAccessible(true);
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+            String name = property != null && !property.value().isEmpty() ? property.value() : field.getName();
+            return new FieldPlan(field, name, notNull, List.copyOf(rules), descend);
+        }
+
+        void check(Object target, Object value, String path, ValidationReport report, Set<Object> visited,
+                   Map<String, Object> defaults) {
+            if (value == null) {
+                if (!notNull) {
+                    return;
+                }
+                Object defaultValue = restorable ? defaults.get(path) : null;
+                if (defaultValue != null && restoreDefault(target, defaultValue)) {
+                    report.warning(path, "missing value, default '" + defaultValue + "' restored");
+                } else {
+                    report.error(path, "must not be null");
+                }
+                return;
+            }
+
+            for (Rule rule : rules) {
+                String message = rule.check(value);
+                if (message != null) {
+                    report.error(path, message);
+                }
+            }
+
+            if (descend) {
+                ConfigValidator.descend(value, path, visited,
+                        (plan, bean, beanPath) -> plan.run(bean, beanPath, report, visited, defaults));
+            }
+        }
+
+        private boolean restoreDefault(Object target, Object defaultValue) {
+            try {
+                field.set(target, defaultValue);
+                return true;
+            } catch (IllegalAccessException e) {
+                return false;
+            }
+        }
+
+        private static boolean isNumeric(Class<?> type) {
+            return type.isPrimitive() ? type != boolean.class && type != char.class : Number.class.isAssignableFrom(type);
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.gether.getutils.validation;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every violation found while loading and validating a configuration.
+ */
+@Getter
+public class ValidationReport {
+
+    private final List<ConfigViolation> errors = new ArrayList<>();
+    private final List<ConfigViolation> warnings = new ArrayList<>();
+
+    public void error(String path, String message) {
+        errors.add(new ConfigViolation(path, message, ConfigViolation.Severity.ERROR));
+    }
+
+    public void warning(String path, String message) {
+        warnings.add(new ConfigViolation(path, message, ConfigViolation.Severity.WARNING));
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return errors.isEmpty() && warnings.isEmpty();
+    }
+}